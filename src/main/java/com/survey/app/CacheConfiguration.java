@@ -0,0 +1,62 @@
+package com.survey.app;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Bounded in-process Caffeine caches behind the Hibernate second-level cache. Every region is created here,
+ * sized by {@code survey.cache.regions.<region>.max-size} and expired by
+ * {@code survey.cache.regions.<region>.time-to-live}, so each cached entity and collection can be tuned on its own.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    public static final String SURVEY = "survey";
+    public static final String QUESTION = "question";
+    public static final String QUESTION_ANSWERS = "question.possibleAnswerSet";
+    public static final String POSSIBLE_ANSWER = "possible-answer";
+    public static final String POSSIBLE_ANSWER_QUESTIONS = "possible-answer.questionSet";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final String[] REGIONS = {SURVEY, QUESTION, QUESTION_ANSWERS, POSSIBLE_ANSWER, POSSIBLE_ANSWER_QUESTIONS, QUERY_RESULTS};
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // a cache manager of its own per application context, so contexts sharing a JVM never share cached entities
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("survey-app:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            String prefix = "survey.cache.regions." + region;
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(environment.getProperty(prefix + ".max-size", Long.class, 10_000L)));
+            Duration timeToLive = environment.getProperty(prefix + ".time-to-live", Duration.class, Duration.ofHours(1));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        // the timestamps must outlive every cached query result, so this region is never bounded or expired
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,109 @@
+package com.survey.app;
+
+import com.fasterxml.classmate.TypeResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import springfox.documentation.spi.service.RequestHandlerProvider;
+import springfox.documentation.spi.service.contexts.Defaults;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
+import springfox.documentation.spring.web.scanners.ApiDocumentationScanner;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Builds the Swagger documentation on the first request for it instead of at startup. Springfox scans every
+ * request mapping of the {@link springfox.documentation.spring.web.plugins.Docket}s once the context is
+ * refreshed; with {@code survey.swagger.on-demand} that scan is skipped and done by the first request to
+ * {@code /v2/api-docs} or {@code /swagger-resources}, while the other requests wait for it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "survey.swagger.on-demand", havingValue = "true")
+public class OnDemandDocumentation {
+
+    @Bean
+    static BeanFactoryPostProcessor onDemandDocumentationBootstrapper() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanNamesForType(DocumentationPluginsBootstrapper.class, false, false)) {
+                beanFactory.getBeanDefinition(name).setBeanClassName(Bootstrapper.class.getName());
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> documentationFilter(DocumentationPluginsBootstrapper bootstrapper) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                ((Bootstrapper) bootstrapper).document();
+                chain.doFilter(request, response);
+            }
+        });
+        registration.addUrlPatterns("/v2/api-docs", "/swagger-resources", "/swagger-resources/*");
+        return registration;
+    }
+
+    /**
+     * The springfox bootstrapper, started by {@link #document()} instead of by the application context.
+     */
+    static class Bootstrapper extends DocumentationPluginsBootstrapper {
+
+        private static final Logger log = LoggerFactory.getLogger(Bootstrapper.class);
+
+        private final Lock lock = new ReentrantLock();
+        private volatile boolean documented;
+
+        Bootstrapper(DocumentationPluginsManager documentationPluginsManager,
+                     List<RequestHandlerProvider> handlerProviders,
+                     DocumentationCache scanned,
+                     ApiDocumentationScanner resourceListing,
+                     TypeResolver typeResolver,
+                     Defaults defaults,
+                     ServletContext servletContext) {
+            super(documentationPluginsManager, handlerProviders, scanned, resourceListing, typeResolver, defaults, servletContext);
+        }
+
+        @Override
+        public boolean isAutoStartup() {
+            return false;
+        }
+
+        /**
+         * Scans the request mappings unless they were scanned before. {@link #start()} marks itself running before
+         * it scans, so it is guarded here until the documentation is complete.
+         */
+        void document() {
+            if (documented) {
+                return;
+            }
+            // a lock rather than a monitor, so requests waiting for the scan do not pin their carrier threads
+            lock.lock();
+            try {
+                if (!documented) {
+                    long start = System.nanoTime();
+                    start();
+                    documented = true;
+                    log.info("Built the API documentation in {} ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
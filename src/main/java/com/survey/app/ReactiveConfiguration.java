@@ -0,0 +1,107 @@
+package com.survey.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey.app.controllers.ReactiveDoneSurveyHandler;
+import com.survey.app.controllers.ReactiveSurveyHandler;
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.exceptions.IngestRejectedException;
+import com.survey.app.exceptions.ResourceNotFoundException;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A reactive API next to the MVC controllers, under {@link #PATH}. Its routes are served by a servlet of their own
+ * that reads and writes with non-blocking servlet I/O, so a slow client does not hold a thread, and the open surveys
+ * are read through R2DBC with backpressure. Enabled with {@code survey.reactive.enabled}.
+ * <p>
+ * The R2DBC pool is deliberately not a {@code ConnectionFactory} bean: Spring Boot would take it for the
+ * primary database and leave out the JDBC {@code DataSource} of JPA. For the same reason
+ * {@code R2dbcAutoConfiguration} is excluded in {@code application.properties}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "survey.reactive.enabled", havingValue = "true")
+public class ReactiveConfiguration implements DisposableBean {
+
+    public static final String PATH = "/api/v1/reactive";
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfiguration(@Value("${survey.reactive.url:r2dbc:h2:mem:///testdb}") String url,
+                                 DataSourceProperties dataSourceProperties,
+                                 @Value("${survey.reactive.pool.max-size:10}") int maxSize,
+                                 @Value("${survey.reactive.pool.max-acquire-time:5s}") Duration maxAcquireTime) {
+        // the same database and credentials as JPA
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, Objects.toString(dataSourceProperties.determineUsername(), ""))
+                .option(ConnectionFactoryOptions.PASSWORD, Objects.toString(dataSourceProperties.determinePassword(), ""))
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveServlet(ReactiveSurveyHandler surveyHandler,
+                                                                              ReactiveDoneSurveyHandler doneSurveyHandler,
+                                                                              ObjectMapper objectMapper) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/survey/open", surveyHandler::getOpenSurveys)
+                .POST("/done_survey", doneSurveyHandler::submitDoneSurveys)
+                .onError(ServerWebInputException.class, (e, request) -> error(HttpStatus.BAD_REQUEST, e.getReason()))
+                .onError(BadRequestException.class, (e, request) -> error(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onError(ResourceNotFoundException.class, (e, request) -> error(HttpStatus.NOT_FOUND, e.getMessage()))
+                .onError(IngestRejectedException.class, (e, request) -> error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()))
+                .build();
+        // the same JSON as the MVC controllers
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration = new ServletRegistrationBean<>(
+                new ServletHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies)), PATH + "/*");
+        registration.setName("reactiveServlet");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).contentType(MediaType.TEXT_PLAIN).bodyValue(message);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -17,6 +17,14 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                 .antMatchers("/h2-console/**").hasRole("COORDINATOR")
                 .antMatchers("/admin").hasRole("COORDINATOR")
                 .antMatchers("/api/v1/question/**").hasRole("COORDINATOR") // Restrict access to QuestionController
+                .antMatchers("/api/v1/done_survey/results/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/done_survey/summary/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/done_survey/respondents/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/done_survey/top-answers/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/analytics/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/cache/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/startup/**").hasRole("COORDINATOR")
+                .antMatchers("/api/v1/reactive/**").authenticated()
                 .antMatchers("/").permitAll()
                 .and().formLogin()
                 .and().csrf().ignoringAntMatchers("/**") // don't apply CSRF protection to /h2-console;
@@ -6,10 +6,14 @@ import com.survey.app.model.Survey;
 import com.survey.app.repositories.AnswerRepository;
 import com.survey.app.repositories.QuestionRepository;
 import com.survey.app.repositories.SurveyRepository;
+import com.survey.app.service.StartupTimings;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.spi.DocumentationType;
@@ -20,13 +24,22 @@ import java.util.HashSet;
 
 @SpringBootApplication
 @EnableSwagger2
+@EnableScheduling
 public class SurveyAppApplication {
 
+	/**
+	 * Startup steps kept for the report of {@link StartupTimings}, enough for every bean created at startup.
+	 */
+	private static final int STARTUP_STEPS = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(SurveyAppApplication.class, args);
+		SpringApplication application = new SpringApplication(SurveyAppApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 	@Bean
+	@ConditionalOnProperty(name = "survey.seed.enabled", havingValue = "true", matchIfMissing = true)
 	CommandLineRunner runner(QuestionRepository questionRepository, AnswerRepository answerRepository, SurveyRepository surveyRepository){
 
 		return args -> {
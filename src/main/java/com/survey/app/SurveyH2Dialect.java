@@ -0,0 +1,17 @@
+package com.survey.app;
+
+import org.hibernate.dialect.H2Dialect;
+
+import java.sql.Types;
+
+/**
+ * H2 dialect that declares the binary UUID columns as {@code varbinary}. H2 stores {@code binary} as
+ * {@code varbinary} anyway, so with the stock dialect {@code ddl-auto=validate} rejects every UUID column
+ * of a schema Hibernate created itself.
+ */
+public class SurveyH2Dialect extends H2Dialect {
+
+    public SurveyH2Dialect() {
+        registerColumnType(Types.BINARY, "varbinary");
+    }
+}
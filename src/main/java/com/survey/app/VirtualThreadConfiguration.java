@@ -0,0 +1,48 @@
+package com.survey.app;
+
+import com.survey.app.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs every request, and with it the service layer and its JDBC calls, on a virtual thread of its own instead of
+ * a thread of the Tomcat worker pool, together with asynchronous MVC requests and the background bootstrap of the
+ * entity manager factory. Enabled with {@code survey.threads.mode=virtual}, which needs Java 21 or later.
+ * The worker pool no longer limits how many requests run at once, so the connection pool does:
+ * {@code spring.datasource.hikari.maximum-pool-size} requests use the database at a time and the others
+ * wait up to {@code spring.datasource.hikari.connection-timeout} for a connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "survey.threads.mode", havingValue = "virtual")
+public class VirtualThreadConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        // fails the startup on an older JVM instead of quietly falling back to the worker pool
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("virtual-");
+        log.info("Requests run on virtual threads, at most {} of them use the database at a time", maximumPoolSize);
+        return executor;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
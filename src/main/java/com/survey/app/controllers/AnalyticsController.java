@@ -0,0 +1,79 @@
+package com.survey.app.controllers;
+
+import com.survey.app.dto.AnswerDistribution;
+import com.survey.app.dto.CrossTab;
+import com.survey.app.service.AnalyticsService;
+import com.survey.app.service.ResponseFilter;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Api(tags = "Survey Analytics", description = "Cross-tabulations and filtered answer counts of survey responses")
+@RequestMapping("api/v1/analytics")
+@RestController
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    /**
+     * Cross-tabulate the answers to two questions of a survey.
+     *
+     * @param surveyId         The ID of the survey.
+     * @param rowQuestionId    The question whose answers label the rows.
+     * @param columnQuestionId The question whose answers label the columns.
+     * @return The number and share of submissions per pair of answers.
+     */
+    @ApiOperation(value = "Cross-tabulate two questions", notes = "Count the submissions per pair of answers to two questions of a survey, optionally filtered by respondent, submission time or the answer to a third question.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully computed cross-tabulation"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "{surveyId}/crosstab")
+    public ResponseEntity<CrossTab> getCrossTab(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("surveyId") UUID surveyId,
+            @ApiParam(value = "Row question ID", required = true) @RequestParam long rowQuestionId,
+            @ApiParam(value = "Column question ID", required = true) @RequestParam long columnQuestionId,
+            @ApiParam(value = "Only submissions of this respondent") @RequestParam(required = false) String respondentName,
+            @ApiParam(value = "Only submissions recorded at or after this ISO-8601 instant") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant submittedFrom,
+            @ApiParam(value = "Only submissions recorded before this ISO-8601 instant") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant submittedTo,
+            @ApiParam(value = "Only submissions that answered this question with filterAnswer") @RequestParam(required = false) Long filterQuestionId,
+            @ApiParam(value = "The answer required to filterQuestionId") @RequestParam(required = false) String filterAnswer) {
+        ResponseFilter filter = new ResponseFilter(respondentName, submittedFrom, submittedTo, filterQuestionId, filterAnswer);
+        return ResponseEntity.ok().body(analyticsService.getCrossTab(surveyId, rowQuestionId, columnQuestionId, filter));
+    }
+
+    /**
+     * Get the filtered answer distribution of a question.
+     *
+     * @param surveyId   The ID of the survey.
+     * @param questionId The ID of the question.
+     * @return The number and share of submissions per answer.
+     */
+    @ApiOperation(value = "Get filtered answer distribution", notes = "Count the answers to a question of a survey, optionally filtered by respondent, submission time or the answer to another question.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully computed answer distribution"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "{surveyId}/distribution/{questionId}")
+    public ResponseEntity<AnswerDistribution> getDistribution(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("surveyId") UUID surveyId,
+            @ApiParam(value = "Question ID", required = true) @PathVariable("questionId") long questionId,
+            @ApiParam(value = "Only submissions of this respondent") @RequestParam(required = false) String respondentName,
+            @ApiParam(value = "Only submissions recorded at or after this ISO-8601 instant") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant submittedFrom,
+            @ApiParam(value = "Only submissions recorded before this ISO-8601 instant") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant submittedTo,
+            @ApiParam(value = "Only submissions that answered this question with filterAnswer") @RequestParam(required = false) Long filterQuestionId,
+            @ApiParam(value = "The answer required to filterQuestionId") @RequestParam(required = false) String filterAnswer) {
+        ResponseFilter filter = new ResponseFilter(respondentName, submittedFrom, submittedTo, filterQuestionId, filterAnswer);
+        return ResponseEntity.ok().body(analyticsService.getDistribution(surveyId, questionId, filter));
+    }
+}
@@ -1,12 +1,16 @@
 package com.survey.app.controllers;
 
+import com.survey.app.dto.PossibleAnswerView;
 import com.survey.app.model.PossibleAnswer;
 import com.survey.app.service.AnswerService;
+import com.survey.app.util.ETag;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import springfox.documentation.annotations.ApiIgnore;
 
 import java.util.List;
 
@@ -39,21 +43,29 @@ public class AnswerController {
     /**
      * Get a possible answer by ID.
      *
-     * @param id The ID of the possible answer.
-     * @return The possible answer with the specified ID.
+     * @param id          The ID of the possible answer.
+     * @param ifNoneMatch The If-None-Match header of the request.
+     * @return The possible answer with the specified ID, or 304 if its entity tag did not change.
+     * The questions are left out, the entity tag only covers the answer itself.
      */
-    @ApiOperation(value = "Get a possible answer by ID", notes = "Retrieve a possible answer by its unique ID.")
+    @ApiOperation(value = "Get a possible answer by ID", notes = "Retrieve a possible answer by its unique ID, without its questions.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved possible answer"),
+            @ApiResponse(code = 304, message = "The possible answer did not change since the given entity tag"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
     })
     @GetMapping(path = "{id}")
-    public ResponseEntity<PossibleAnswer> getAnswerById(
-            @ApiParam(value = "Possible Answer ID", required = true) @PathVariable long id) {
+    public ResponseEntity<PossibleAnswerView> getAnswerById(
+            @ApiParam(value = "Possible Answer ID", required = true) @PathVariable long id,
+            @ApiIgnore @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = answerService.getAnswerETag(id);
+        if (ETag.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         PossibleAnswer answer = answerService.getAnswerById(id);
-        return ResponseEntity.ok().body(answer);
+        return ResponseEntity.ok().eTag(eTag).body(new PossibleAnswerView(answer.getId(), answer.getText()));
     }
 
     /**
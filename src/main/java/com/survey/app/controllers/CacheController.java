@@ -0,0 +1,37 @@
+package com.survey.app.controllers;
+
+import com.survey.app.dto.CacheRegionStats;
+import com.survey.app.service.CacheStatsService;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Api(tags = "Cache Management", description = "Operations pertaining to the second-level cache")
+@RequestMapping("api/v1/cache")
+@RestController
+public class CacheController {
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    /**
+     * Get the second-level cache counters.
+     *
+     * @return The hit, miss and put counts of every cache region since startup.
+     */
+    @ApiOperation(value = "Get second-level cache statistics", notes = "Retrieve the hit, miss and put counts of every second-level cache region since startup.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved cache statistics"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @GetMapping("stats")
+    public ResponseEntity<List<CacheRegionStats>> getStats() {
+        return ResponseEntity.ok().body(cacheStatsService.getRegionStats());
+    }
+}
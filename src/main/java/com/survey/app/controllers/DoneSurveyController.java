@@ -1,12 +1,25 @@
 package com.survey.app.controllers;
 
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.dto.DistinctCount;
+import com.survey.app.dto.IngestStats;
+import com.survey.app.dto.KeysetPage;
+import com.survey.app.dto.QuestionTally;
+import com.survey.app.dto.TopAnswers;
 import com.survey.app.model.DoneSurvey;
 import com.survey.app.service.DoneSurveyService;
+import com.survey.app.service.ExportFormat;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +49,27 @@ public class DoneSurveyController {
         return ResponseEntity.ok().body(doneSurveys);
     }
 
+    /**
+     * Get a page of done surveys after a cursor.
+     *
+     * @param cursor The cursor returned with the previous page.
+     * @param size   The page size.
+     * @return The done surveys of the page, newest first, and the cursor of the next page.
+     */
+    @ApiOperation(value = "Get a page of done surveys", notes = "Retrieve the done surveys of the current user newest first, one page at a time. Pass the nextCursor of a page to get the next one.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved the page of done surveys"),
+            @ApiResponse(code = 400, message = "The cursor or the page size is invalid"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @GetMapping(path = "page")
+    public ResponseEntity<KeysetPage<DoneSurvey>> getDoneSurveyPage(
+            @ApiParam(value = "Cursor of the page, from nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @ApiParam(value = "Page size, at most 500", defaultValue = "50") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok().body(doneSurveyService.getDoneSurveyPage(cursor, size));
+    }
+
     /**
      * Get a done survey by ID.
      *
@@ -65,6 +99,7 @@ public class DoneSurveyController {
     @ApiOperation(value = "Create a new done survey", notes = "Create a new done survey.")
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Successfully created done survey"),
+            @ApiResponse(code = 400, message = "A question does not belong to the survey of its answer"),
             @ApiResponse(code = 401, message = "You are not authorized to create the resource"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
@@ -75,4 +110,209 @@ public class DoneSurveyController {
         DoneSurvey createdDoneSurvey = doneSurveyService.createDoneSurvey(doneSurvey);
         return ResponseEntity.status(201).body(createdDoneSurvey);
     }
+
+    /**
+     * Create several done surveys at once.
+     *
+     * @param doneSurveys The done survey rows of one or more submissions.
+     * @return The created done surveys.
+     */
+    @ApiOperation(value = "Create done surveys in batch", notes = "Create all answers of one or more submissions in a single request.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Successfully created done surveys"),
+            @ApiResponse(code = 400, message = "A question does not belong to the survey of its answer"),
+            @ApiResponse(code = 401, message = "You are not authorized to create the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @PostMapping(path = "batch")
+    public ResponseEntity<List<DoneSurvey>> createDoneSurveys(
+            @ApiParam(value = "Done Survey objects", required = true) @RequestBody List<DoneSurvey> doneSurveys) {
+        List<DoneSurvey> createdDoneSurveys = doneSurveyService.createDoneSurveys(doneSurveys);
+        return ResponseEntity.status(201).body(createdDoneSurveys);
+    }
+
+    /**
+     * Queue done surveys for asynchronous writing.
+     *
+     * @param doneSurveys The done survey rows of one submission.
+     * @return The ids the rows will be stored under.
+     */
+    @ApiOperation(value = "Submit done surveys asynchronously", notes = "Accept a submission into the write-behind queue and return the ids of its rows.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Submission accepted for writing"),
+            @ApiResponse(code = 400, message = "A question does not belong to the survey of its answer, when written synchronously"),
+            @ApiResponse(code = 401, message = "You are not authorized to create the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 503, message = "The ingestion queue is full")
+    })
+    @PostMapping(path = "async")
+    public ResponseEntity<List<UUID>> submitDoneSurveys(
+            @ApiParam(value = "Done Survey objects", required = true) @RequestBody List<DoneSurvey> doneSurveys) {
+        List<UUID> ids = doneSurveyService.submitDoneSurveys(doneSurveys);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ids);
+    }
+
+    /**
+     * Get the metrics of the asynchronous ingestion queue.
+     *
+     * @return Queue depth and commit latency.
+     */
+    @ApiOperation(value = "Get ingestion queue metrics", notes = "Retrieve the queue depth and commit latency of asynchronous ingestion.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved ingestion metrics"),
+            @ApiResponse(code = 404, message = "Asynchronous ingestion is not enabled")
+    })
+    @GetMapping(path = "ingest/stats")
+    public ResponseEntity<IngestStats> getIngestStats() {
+        return ResponseEntity.ok().body(doneSurveyService.getIngestStats());
+    }
+
+    /**
+     * Export done surveys as a stream.
+     *
+     * @param format   The output format, csv or ndjson.
+     * @param surveyId Optionally restricts a coordinator's export to one survey.
+     * @return The done surveys, written while they are read from the database.
+     */
+    @ApiOperation(value = "Export done surveys", notes = "Stream the done surveys visible to the current user as CSV or NDJSON.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully exported done surveys"),
+            @ApiResponse(code = 400, message = "The export format is not supported"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @GetMapping(path = "export")
+    public ResponseEntity<StreamingResponseBody> exportDoneSurveys(
+            @ApiParam(value = "Export format, csv or ndjson", defaultValue = "csv") @RequestParam(defaultValue = "csv") String format,
+            @ApiParam(value = "Survey ID") @RequestParam(required = false) UUID surveyId) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromValue(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = doneSurveyService.exportDoneSurveys(surveyId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"done_surveys." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Get the live results of a survey created by the current user.
+     *
+     * @param surveyId The ID of the survey.
+     * @return The answer distribution of every answered question.
+     */
+    @ApiOperation(value = "Get live survey results", notes = "Retrieve the per-question answer distribution of a survey from the live counters.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved survey results"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "results/{surveyId}")
+    public ResponseEntity<List<QuestionTally>> getResults(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("surveyId") UUID surveyId) {
+        return ResponseEntity.ok().body(doneSurveyService.getResults(surveyId));
+    }
+
+    /**
+     * Get the stored answer counts of a survey created by the current user.
+     *
+     * @param surveyId The ID of the survey.
+     * @return The number of times each answer was given, per question.
+     */
+    @ApiOperation(value = "Get survey answer summary", notes = "Retrieve the answer counts of a survey from the persisted summary table.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved survey summary"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "summary/{surveyId}")
+    public ResponseEntity<List<AnswerCount>> getSummary(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("surveyId") UUID surveyId) {
+        return ResponseEntity.ok().body(doneSurveyService.getSummary(surveyId));
+    }
+
+    /**
+     * Count the distinct respondents of a survey created by the current user.
+     *
+     * @param surveyId The ID of the survey.
+     * @return The approximate number of distinct respondents, with error bounds.
+     */
+    @ApiOperation(value = "Count distinct respondents of a survey", notes = "Estimate the number of distinct respondents of a survey from its HyperLogLog sketch.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully estimated distinct respondents"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "respondents/survey/{surveyId}")
+    public ResponseEntity<DistinctCount> countRespondentsBySurvey(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("surveyId") UUID surveyId) {
+        return ResponseEntity.ok().body(doneSurveyService.countRespondentsBySurvey(surveyId));
+    }
+
+    /**
+     * Count the distinct respondents of all surveys of a creator.
+     *
+     * @param creatorName The name of the survey creator, which must be the current user.
+     * @return The approximate number of distinct respondents, with error bounds.
+     */
+    @ApiOperation(value = "Count distinct respondents of a creator", notes = "Estimate the number of distinct respondents of all surveys of a creator from their HyperLogLog sketch.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully estimated distinct respondents"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "respondents/creator/{creatorName}")
+    public ResponseEntity<DistinctCount> countRespondentsByCreator(
+            @ApiParam(value = "Creator name", required = true) @PathVariable("creatorName") String creatorName) {
+        return ResponseEntity.ok().body(doneSurveyService.countRespondentsByCreator(creatorName));
+    }
+
+    /**
+     * Count the distinct respondents of the current user's surveys over a range of days.
+     *
+     * @param from The first day.
+     * @param to   The last day, inclusive; defaults to the first day.
+     * @return The approximate number of distinct respondents, with error bounds.
+     */
+    @ApiOperation(value = "Count distinct respondents per day", notes = "Estimate the number of distinct respondents of your surveys over a range of days (UTC) by merging their daily HyperLogLog sketches.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully estimated distinct respondents"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @GetMapping(path = "respondents/day")
+    public ResponseEntity<DistinctCount> countRespondentsByDays(
+            @ApiParam(value = "First day, yyyy-MM-dd", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @ApiParam(value = "Last day, yyyy-MM-dd") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok().body(doneSurveyService.countRespondentsByDays(from, to));
+    }
+
+    /**
+     * Get the most frequent answers of a question of a survey created by the current user.
+     *
+     * @param questionId The ID of the question.
+     * @param limit      Maximum number of answers.
+     * @return The most frequent answers with their approximate counts.
+     */
+    @ApiOperation(value = "Get top answers of a question", notes = "Retrieve the most frequent answers of a question, free-text included, with approximate counts from a count-min sketch.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved top answers"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @GetMapping(path = "top-answers/{questionId}")
+    public ResponseEntity<TopAnswers> getTopAnswers(
+            @ApiParam(value = "Question ID", required = true) @PathVariable("questionId") long questionId,
+            @ApiParam(value = "Maximum number of answers", defaultValue = "10") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok().body(doneSurveyService.getTopAnswers(questionId, limit));
+    }
 }
@@ -1,18 +1,36 @@
 package com.survey.app.controllers;
 
+import com.survey.app.dto.AssembledQuestions;
+import com.survey.app.dto.AssemblyRequest;
+import com.survey.app.dto.KeysetPage;
+import com.survey.app.dto.QuestionImportReport;
+import com.survey.app.dto.QuestionView;
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.exceptions.ResourceNotFoundException;
 import com.survey.app.model.Question;
 import com.survey.app.repositories.QuestionRepo;
+import com.survey.app.service.QuestionCursor;
+import com.survey.app.service.QuestionImporter;
+import com.survey.app.service.QuestionSampler;
 import com.survey.app.service.QuestionService1;
+import com.survey.app.util.ETag;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import springfox.documentation.annotations.ApiIgnore;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Controller class for managing questions.
@@ -28,6 +46,9 @@ public class QuestionController {
     @Autowired
     private QuestionRepo questionRepo;
 
+    @Autowired
+    private QuestionImporter questionImporter;
+
     /**
      * Get a list of all questions.
      * @return ResponseEntity with a list of questions
@@ -56,21 +77,56 @@ public class QuestionController {
         return ResponseEntity.status(HttpStatus.OK).body(questions);
     }
 
+    /**
+     * Get a page of questions after a cursor.
+     * @param sort Order of the questions
+     * @param cursor Cursor returned with the previous page
+     * @param size Page size
+     * @param includeTotal Whether to count all questions
+     * @return ResponseEntity with the page, its questions with their possible answers, and the cursor of the next one
+     */
+    @ApiOperation(value = "Get a page of questions by cursor", notes = "Get the questions after a cursor, ordered by id or by category and id. Unlike page numbers, every page costs the same however deep it is, and the total is only counted when requested.")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<QuestionView>> getQuestionPage(
+            @ApiParam(value = "id or category", defaultValue = "id") @RequestParam(defaultValue = "id") String sort,
+            @ApiParam(value = "Cursor of the page, from nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @ApiParam(value = "Page size", defaultValue = "20") @RequestParam(defaultValue = "20") int size,
+            @ApiParam(value = "Whether to count all questions", defaultValue = "false") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            QuestionCursor.Sort order = QuestionCursor.Sort.valueOf(sort.toUpperCase(Locale.ROOT));
+            KeysetPage<QuestionView> page = questionService.getQuestionPage(order, cursor, size, includeTotal);
+            return ResponseEntity.status(HttpStatus.OK).body(page);
+        } catch (BadRequestException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Get a question by ID.
      * @param id Question ID
-     * @return ResponseEntity with a question
+     * @param ifNoneMatch If-None-Match header
+     * @return ResponseEntity with a question, or 304 if its entity tag did not change
      */
-    @ApiOperation(value = "Get a question by ID", notes = "Get a question by its unique ID.")
+    @ApiOperation(value = "Get a question by ID", notes = "Get a question by its unique ID. Send the ETag of a previous response in If-None-Match to get 304 while the question and its possible answers did not change.")
     @GetMapping(path = "{id}")
     public ResponseEntity<Question> getQuestionById(
-            @ApiParam(value = "Question ID") @PathVariable long id) {
+            @ApiParam(value = "Question ID") @PathVariable long id,
+            @ApiIgnore @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // read before the question, so a concurrent change can only make the tag older than the body
+            String eTag = questionService.getQuestionETag(id);
+            if (ETag.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
             Question question = questionService.getQuestionById(id);
             if (question == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
             }
-            return ResponseEntity.status(HttpStatus.OK).body(question);
+            return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(question);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
@@ -93,6 +149,45 @@ public class QuestionController {
         }
     }
 
+    /**
+     * Import questions in bulk.
+     * @param body JSON array or NDJSON stream of questions with their possible answers
+     * @return ResponseEntity with the number of imported questions and the items that were not imported
+     */
+    @ApiOperation(value = "Import questions in bulk", notes = "Import a JSON array or an NDJSON stream of questions with their possible answers. The questions are stored in batches as they are read; items that cannot be stored are reported by position and do not stop the import.")
+    @ApiImplicitParams(@ApiImplicitParam(name = "questions", value = "Questions to import", required = true,
+            paramType = "body", dataType = "QuestionImportItem", allowMultiple = true))
+    @PostMapping(path = "import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<QuestionImportReport> importQuestions(@ApiIgnore InputStream body) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(questionImporter.importQuestions(body));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Attach possible answers to a question.
+     * @param id Question ID
+     * @param answerIds IDs of the possible answers
+     * @return ResponseEntity with the question and all its possible answers
+     */
+    @ApiOperation(value = "Attach possible answers to a question", notes = "Link a list of existing possible answers to a question in one request. Fails without linking any if one of them does not exist.")
+    @PostMapping(path = "{id}/answers")
+    public ResponseEntity<QuestionView> attachAnswers(
+            @ApiParam(value = "Question ID") @PathVariable long id,
+            @ApiParam(value = "IDs of the possible answers", required = true) @RequestBody List<Long> answerIds) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(questionService.attachAnswers(id, answerIds));
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Update an existing question.
      * @param id Question ID
@@ -134,6 +229,42 @@ public class QuestionController {
         }
     }
 
+    /**
+     * Search questions by title and text.
+     * @param query Words to find, whole or partial
+     * @param limit Maximum number of questions
+     * @return ResponseEntity with the matching questions, best match first
+     */
+    @ApiOperation(value = "Search questions", notes = "Get the questions whose title or text contains every word of the query, best match first.")
+    @GetMapping("/search")
+    public ResponseEntity<List<Question>> searchQuestions(
+            @ApiParam(value = "Words to find", example = "name") @RequestParam String query,
+            @ApiParam(value = "Maximum number of questions", defaultValue = "20") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<Question> questions = questionService.searchQuestions(query, limit);
+            return ResponseEntity.status(HttpStatus.OK).body(questions);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Search questions by title.
+     * @param title Text the title contains
+     * @return ResponseEntity with the matching questions
+     */
+    @ApiOperation(value = "Search questions by title", notes = "Get the questions whose title contains the text, ignoring case.")
+    @GetMapping("/search/title")
+    public ResponseEntity<List<Question>> searchQuestionsByTitle(
+            @ApiParam(value = "Text the title contains", example = "Profile") @RequestParam String title) {
+        try {
+            List<Question> questions = questionService.searchQuestionsByTitle(title);
+            return ResponseEntity.status(HttpStatus.OK).body(questions);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Filter questions by difficulty level.
      * @param difficulty Difficulty level
@@ -153,19 +284,78 @@ public class QuestionController {
 
     /**
      * Get a random question.
+     * @param category Only questions of this category
+     * @param difficulty Only questions of this difficulty
      * @return ResponseEntity with a random question
      */
-    @ApiOperation(value = "Get a random question", notes = "Get a random question.")
+    @ApiOperation(value = "Get a random question", notes = "Get a uniformly drawn random question, optionally of a category and/or difficulty.")
     @GetMapping("/random")
-    public ResponseEntity<Question> getRandomQuestion() {
+    public ResponseEntity<Question> getRandomQuestion(
+            @ApiParam(value = "Category name") @RequestParam(required = false) String category,
+            @ApiParam(value = "Difficulty level", example = "Easy") @RequestParam(required = false) String difficulty) {
         try {
-            Question question = questionService.getRandomQuestion();
+            Question question = questionService.getRandomQuestion(category, difficulty);
+            if (question == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
             return ResponseEntity.status(HttpStatus.OK).body(question);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    /**
+     * Get a random question, weighted by category or difficulty.
+     * @param by The attribute the weights apply to
+     * @param weights Comma separated value:weight pairs
+     * @return ResponseEntity with a random question
+     */
+    @ApiOperation(value = "Get a weighted random question", notes = "Pick a category or difficulty with probability proportional to its weight, then a random question of it.")
+    @GetMapping("/random/weighted")
+    public ResponseEntity<Question> getWeightedRandomQuestion(
+            @ApiParam(value = "category or difficulty", defaultValue = "difficulty") @RequestParam(defaultValue = "difficulty") String by,
+            @ApiParam(value = "Comma separated value:weight pairs", example = "easy:3,hard:1") @RequestParam String weights) {
+        QuestionSampler.Attribute attribute;
+        Map<String, Double> parsedWeights = new LinkedHashMap<>();
+        try {
+            attribute = QuestionSampler.Attribute.valueOf(by.toUpperCase(Locale.ROOT));
+            for (String pair : weights.split(",")) {
+                int separator = pair.lastIndexOf(':');
+                parsedWeights.put(pair.substring(0, separator).trim(), Double.parseDouble(pair.substring(separator + 1)));
+            }
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            Question question = questionService.getWeightedRandomQuestion(attribute, parsedWeights);
+            if (question == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
+            return ResponseEntity.status(HttpStatus.OK).body(question);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Assemble a stratified random question set.
+     * @param request How many questions to draw per category and difficulty, and the optional seed
+     * @return ResponseEntity with the drawn questions and the seed that draws them again
+     */
+    @ApiOperation(value = "Assemble a random question set", notes = "Draw a stratified random question set, e.g. 4 easy, 4 medium and 2 hard questions, without repeats. Sending the returned seed again gives the same set.")
+    @PostMapping("/assemble")
+    public ResponseEntity<AssembledQuestions> assembleQuestions(
+            @ApiParam(value = "Strata and seed", required = true) @RequestBody AssemblyRequest request) {
+        try {
+            AssembledQuestions questions = questionService.assembleQuestions(request);
+            return ResponseEntity.status(HttpStatus.OK).body(questions);
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Get the total count of questions.
      * @return ResponseEntity with the total count of questions
@@ -0,0 +1,60 @@
+package com.survey.app.controllers;
+
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.model.DoneSurvey;
+import com.survey.app.service.DoneSurveyService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of the asynchronous submission of {@link DoneSurveyController}, routed by
+ * {@link com.survey.app.ReactiveConfiguration}. The body is read without holding a thread; the rows are then
+ * stored by {@link DoneSurveyService#submitDoneSurveys}, so they go through the same write path and update
+ * the same derived views as every other submission.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.reactive.enabled", havingValue = "true")
+public class ReactiveDoneSurveyHandler {
+
+    private static final ParameterizedTypeReference<List<DoneSurvey>> DONE_SURVEYS = new ParameterizedTypeReference<>() {
+    };
+
+    private final DoneSurveyService doneSurveyService;
+
+    public ReactiveDoneSurveyHandler(DoneSurveyService doneSurveyService) {
+        this.doneSurveyService = doneSurveyService;
+    }
+
+    /**
+     * Submit done surveys. With asynchronous ingestion they are queued, otherwise written before the response,
+     * on a thread of the bounded elastic scheduler since JPA blocks.
+     *
+     * @param request The request with the done survey rows of one submission.
+     * @return 202 with the ids the rows are stored under.
+     */
+    public Mono<ServerResponse> submitDoneSurveys(ServerRequest request) {
+        // the body arrives on other threads, which do not carry the caller's security context
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return request.bodyToMono(DONE_SURVEYS)
+                .filter(doneSurveys -> !doneSurveys.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("No done surveys given")))
+                .flatMap(doneSurveys -> Mono.fromCallable(new DelegatingSecurityContextCallable<>(
+                        () -> doneSurveyService.submitDoneSurveys(doneSurveys), securityContext))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(ids -> ServerResponse.status(HttpStatus.ACCEPTED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ids));
+    }
+}
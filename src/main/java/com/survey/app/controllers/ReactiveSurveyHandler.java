@@ -0,0 +1,39 @@
+package com.survey.app.controllers;
+
+import com.survey.app.dto.SurveyView;
+import com.survey.app.service.OpenSurveyReader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the survey listing of {@link SurveyController}, routed by
+ * {@link com.survey.app.ReactiveConfiguration}.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.reactive.enabled", havingValue = "true")
+public class ReactiveSurveyHandler {
+
+    private final OpenSurveyReader openSurveyReader;
+
+    public ReactiveSurveyHandler(OpenSurveyReader openSurveyReader) {
+        this.openSurveyReader = openSurveyReader;
+    }
+
+    /**
+     * Get the open surveys, one JSON object per line. Every survey is written as soon as its rows are read.
+     * Reading stays ahead of the client only by bounded buffers, the prefetch of the reactive operators and
+     * the servlet output buffer, so a slow client holds back the query without the surveys piling up in memory.
+     *
+     * @param request The request.
+     * @return The open surveys with their questions and possible answers.
+     */
+    public Mono<ServerResponse> getOpenSurveys(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(openSurveyReader.streamOpenSurveys(), SurveyView.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.survey.app.controllers;
+
+import com.survey.app.dto.StartupReport;
+import com.survey.app.service.StartupTimings;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Api(tags = "Startup Management", description = "Operations pertaining to the startup of this instance")
+@RequestMapping("api/v1/startup")
+@RestController
+public class StartupController {
+
+    @Autowired
+    private StartupTimings startupTimings;
+
+    /**
+     * Get the startup phase timings.
+     *
+     * @return The time from the start of the JVM until the application was ready, per phase and for the slowest beans.
+     */
+    @ApiOperation(value = "Get startup timings", notes = "Retrieve the time spent in every startup phase and in creating the slowest beans.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved startup timings"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @GetMapping
+    public ResponseEntity<StartupReport> getReport() {
+        return ResponseEntity.ok().body(startupTimings.getReport());
+    }
+}
@@ -1,13 +1,21 @@
 package com.survey.app.controllers;
 
+import com.survey.app.dto.SurveyView;
 import com.survey.app.model.Survey;
 import com.survey.app.service.SurveyService;
+import com.survey.app.service.SurveySnapshots;
+import com.survey.app.util.AcceptEncoding;
+import com.survey.app.util.ETag;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import springfox.documentation.annotations.ApiIgnore;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -18,9 +26,14 @@ import java.util.UUID;
 @RestController
 public class SurveyController {
 
+    private static final String GZIP = "gzip";
+
     @Autowired
     private SurveyService surveyService;
 
+    @Autowired
+    private SurveySnapshots surveySnapshots;
+
     /**
      * Get all surveys.
      *
@@ -34,29 +47,54 @@ public class SurveyController {
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
     })
     @GetMapping
-    public ResponseEntity<List<Survey>> getAllSurveys() {
-        List<Survey> surveys = surveyService.getAllSurvey();
+    public ResponseEntity<List<SurveyView>> getAllSurveys() {
+        List<SurveyView> surveys = surveyService.getAllSurvey();
         return ResponseEntity.ok().body(surveys);
     }
 
     /**
-     * Get a survey by ID.
+     * Get a survey by ID. The survey is served from its cached serialized snapshot,
+     * gzip encoded when the client accepts it. The gzip encoding has its own entity tag, the tag of the JSON with
+     * a {@code -gzip} suffix. A request whose If-None-Match holds either current tag is answered with 304 from
+     * the versions alone.
      *
-     * @param id The ID of the survey.
+     * @param id             The ID of the survey.
+     * @param acceptEncoding The Accept-Encoding header of the request.
+     * @param ifNoneMatch    The If-None-Match header of the request.
      * @return The survey with the specified ID.
      */
-    @ApiOperation(value = "Get a survey by ID", notes = "Retrieve a survey by its unique ID.")
+    @ApiOperation(value = "Get a survey by ID", notes = "Retrieve a survey by its unique ID.", response = SurveyView.class)
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved survey"),
+            @ApiResponse(code = 304, message = "The survey did not change since the given entity tag"),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
     })
     @GetMapping(path = "{id}")
-    public ResponseEntity<Survey> getSurveyById(
-            @ApiParam(value = "Survey ID", required = true) @PathVariable("id") UUID id) {
-        Survey survey = surveyService.getSurveyById(id);
-        return ResponseEntity.ok().body(survey);
+    public ResponseEntity<byte[]> getSurveyById(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("id") UUID id,
+            @ApiIgnore @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @ApiIgnore @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = surveySnapshots.getETag(id);
+            // the client's copy is either encoding of the current survey
+            for (String current : List.of(eTag, ETag.encoded(eTag, GZIP))) {
+                if (ETag.matches(ifNoneMatch, current)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+                }
+            }
+        }
+        SurveySnapshots.Snapshot snapshot = surveySnapshots.get(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.getGzip() != null && AcceptEncoding.accepts(acceptEncoding, GZIP)) {
+            return response.eTag(ETag.encoded(snapshot.getETag(), GZIP))
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .body(snapshot.getGzip());
+        }
+        return response.eTag(snapshot.getETag()).body(snapshot.getJson());
     }
 
     /**
@@ -79,6 +117,28 @@ public class SurveyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdSurvey);
     }
 
+    /**
+     * Attach questions to a survey.
+     *
+     * @param id          The ID of the survey.
+     * @param questionIds The IDs of the questions, which are taken away from the surveys they belonged to.
+     * @return The survey with all its questions.
+     */
+    @ApiOperation(value = "Attach questions to a survey", notes = "Move a list of existing questions into a survey in one request. Fails without moving any if one of them does not exist.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully attached the questions"),
+            @ApiResponse(code = 400, message = "No question ids were given"),
+            @ApiResponse(code = 401, message = "You are not authorized to update the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The survey or one of the questions was not found")
+    })
+    @PostMapping(path = "{id}/questions")
+    public ResponseEntity<SurveyView> attachQuestions(
+            @ApiParam(value = "Survey ID", required = true) @PathVariable("id") UUID id,
+            @ApiParam(value = "IDs of the questions", required = true) @RequestBody List<Long> questionIds) {
+        return ResponseEntity.ok().body(surveyService.attachQuestions(id, questionIds));
+    }
+
     /**
      * Update an existing survey.
      *
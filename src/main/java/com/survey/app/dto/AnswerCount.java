@@ -0,0 +1,56 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.UUID;
+
+/**
+ * Number of times one answer was given to one question of a survey.
+ */
+@ApiModel(description = "Number of times an answer was given to a survey question")
+public class AnswerCount {
+
+    @ApiModelProperty(notes = "The unique identifier of the survey")
+    private final UUID surveyId;
+
+    @ApiModelProperty(notes = "The unique identifier of the question")
+    private final long questionId;
+
+    @ApiModelProperty(notes = "The given answer")
+    private final String answerText;
+
+    @ApiModelProperty(notes = "Number of times the answer was given")
+    private final long count;
+
+    @ApiModelProperty(notes = "The possible answer of the question matching the given answer, empty for free-text answers")
+    private final Long possibleAnswerId;
+
+    public AnswerCount(UUID surveyId, long questionId, String answerText, long count, Long possibleAnswerId) {
+        this.surveyId = surveyId;
+        this.questionId = questionId;
+        this.answerText = answerText;
+        this.count = count;
+        this.possibleAnswerId = possibleAnswerId;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public String getAnswerText() {
+        return answerText;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Long getPossibleAnswerId() {
+        return possibleAnswerId;
+    }
+}
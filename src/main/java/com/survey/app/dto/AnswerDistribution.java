@@ -0,0 +1,57 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Map;
+
+/**
+ * Answer counts and percentages of one question over the submissions matching a filter.
+ */
+@ApiModel(description = "Filtered answer distribution of one survey question")
+public class AnswerDistribution {
+
+    @ApiModelProperty(notes = "The unique identifier of the question")
+    private final long questionId;
+
+    @ApiModelProperty(notes = "Number of submissions matching the filter")
+    private final long respondents;
+
+    @ApiModelProperty(notes = "Number of matching submissions that answered the question")
+    private final long answered;
+
+    @ApiModelProperty(notes = "Number of times each answer was given")
+    private final Map<String, Long> counts;
+
+    @ApiModelProperty(notes = "Share of the answered submissions per answer, in percent")
+    private final Map<String, Double> percentages;
+
+    public AnswerDistribution(long questionId, long respondents, long answered,
+                              Map<String, Long> counts, Map<String, Double> percentages) {
+        this.questionId = questionId;
+        this.respondents = respondents;
+        this.answered = answered;
+        this.counts = counts;
+        this.percentages = percentages;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getRespondents() {
+        return respondents;
+    }
+
+    public long getAnswered() {
+        return answered;
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public Map<String, Double> getPercentages() {
+        return percentages;
+    }
+}
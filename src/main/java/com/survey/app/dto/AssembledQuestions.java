@@ -0,0 +1,33 @@
+package com.survey.app.dto;
+
+import com.survey.app.model.Question;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * A stratified random question set and the seed that reproduces it.
+ */
+@ApiModel(description = "A stratified random question set")
+public class AssembledQuestions {
+
+    @ApiModelProperty(notes = "Seed that draws this set again")
+    private final long seed;
+
+    @ApiModelProperty(notes = "The drawn questions")
+    private final List<Question> questions;
+
+    public AssembledQuestions(long seed, List<Question> questions) {
+        this.seed = seed;
+        this.questions = questions;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+}
@@ -0,0 +1,79 @@
+package com.survey.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * Describes a randomized question set: how many questions to draw from each stratum of the question bank.
+ */
+@ApiModel(description = "Request for a stratified random question set")
+public class AssemblyRequest {
+
+    @ApiModelProperty(notes = "Seed of the draw; the same seed, strata and question bank give the same set. Random if empty")
+    private final Long seed;
+
+    @ApiModelProperty(notes = "The strata to draw from, in order")
+    private final List<Stratum> strata;
+
+    @ApiModelProperty(notes = "Whether to shuffle the drawn questions, otherwise they are grouped by stratum")
+    private final boolean shuffle;
+
+    public AssemblyRequest(@JsonProperty("seed") Long seed,
+                           @JsonProperty("strata") List<Stratum> strata,
+                           @JsonProperty("shuffle") Boolean shuffle) {
+        this.seed = seed;
+        this.strata = strata;
+        this.shuffle = shuffle == null || shuffle;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public List<Stratum> getStrata() {
+        return strata;
+    }
+
+    public boolean isShuffle() {
+        return shuffle;
+    }
+
+    /**
+     * Number of questions to draw with a category and/or difficulty.
+     */
+    @ApiModel(description = "Number of questions to draw with a category and/or difficulty")
+    public static class Stratum {
+
+        @ApiModelProperty(notes = "Only questions of this category, any if empty")
+        private final String category;
+
+        @ApiModelProperty(notes = "Only questions of this difficulty, any if empty")
+        private final String difficulty;
+
+        @ApiModelProperty(notes = "Number of questions to draw")
+        private final int count;
+
+        public Stratum(@JsonProperty("category") String category,
+                       @JsonProperty("difficulty") String difficulty,
+                       @JsonProperty("count") int count) {
+            this.category = category;
+            this.difficulty = difficulty;
+            this.count = count;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getDifficulty() {
+            return difficulty;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Hit and miss counters of one second-level cache region since startup.
+ */
+@ApiModel(description = "Hit and miss counters of one second-level cache region")
+public class CacheRegionStats {
+
+    @ApiModelProperty(notes = "The name of the cache region")
+    private final String region;
+
+    @ApiModelProperty(notes = "The number of lookups found in the cache")
+    private final long hitCount;
+
+    @ApiModelProperty(notes = "The number of lookups that went to the database")
+    private final long missCount;
+
+    @ApiModelProperty(notes = "The number of entries put into the cache")
+    private final long putCount;
+
+    @ApiModelProperty(notes = "The share of lookups found in the cache, 0 without lookups")
+    private final double hitRatio;
+
+    public CacheRegionStats(String region, long hitCount, long missCount, long putCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.hitRatio = hitCount + missCount == 0 ? 0 : hitCount / (double) (hitCount + missCount);
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+}
@@ -0,0 +1,81 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * Contingency table of the answers to two questions, counted over the submissions that answered both.
+ */
+@ApiModel(description = "Cross-tabulation of the answers to two survey questions")
+public class CrossTab {
+
+    @ApiModelProperty(notes = "The question whose answers label the rows")
+    private final long rowQuestionId;
+
+    @ApiModelProperty(notes = "The question whose answers label the columns")
+    private final long columnQuestionId;
+
+    @ApiModelProperty(notes = "Number of submissions matching the filter")
+    private final long respondents;
+
+    @ApiModelProperty(notes = "Number of matching submissions that answered both questions")
+    private final long total;
+
+    @ApiModelProperty(notes = "The answers of the row question")
+    private final List<String> rowAnswers;
+
+    @ApiModelProperty(notes = "The answers of the column question")
+    private final List<String> columnAnswers;
+
+    @ApiModelProperty(notes = "Number of submissions per row and column answer")
+    private final long[][] counts;
+
+    @ApiModelProperty(notes = "Share of the total per row and column answer, in percent")
+    private final double[][] percentages;
+
+    public CrossTab(long rowQuestionId, long columnQuestionId, long respondents, long total,
+                    List<String> rowAnswers, List<String> columnAnswers, long[][] counts, double[][] percentages) {
+        this.rowQuestionId = rowQuestionId;
+        this.columnQuestionId = columnQuestionId;
+        this.respondents = respondents;
+        this.total = total;
+        this.rowAnswers = rowAnswers;
+        this.columnAnswers = columnAnswers;
+        this.counts = counts;
+        this.percentages = percentages;
+    }
+
+    public long getRowQuestionId() {
+        return rowQuestionId;
+    }
+
+    public long getColumnQuestionId() {
+        return columnQuestionId;
+    }
+
+    public long getRespondents() {
+        return respondents;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<String> getRowAnswers() {
+        return rowAnswers;
+    }
+
+    public List<String> getColumnAnswers() {
+        return columnAnswers;
+    }
+
+    public long[][] getCounts() {
+        return counts;
+    }
+
+    public double[][] getPercentages() {
+        return percentages;
+    }
+}
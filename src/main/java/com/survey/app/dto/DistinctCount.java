@@ -0,0 +1,54 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Approximate number of distinct respondents, with its error bounds.
+ */
+@ApiModel(description = "Approximate number of distinct respondents")
+public class DistinctCount {
+
+    @ApiModelProperty(notes = "What was counted, e.g. survey:<id>, day:<date> or creator:<name>")
+    private final String scope;
+
+    @ApiModelProperty(notes = "The estimated number of distinct respondents")
+    private final long estimate;
+
+    @ApiModelProperty(notes = "The relative standard error of the estimate")
+    private final double standardError;
+
+    @ApiModelProperty(notes = "Lower bound of the 95% confidence interval")
+    private final long lowerBound;
+
+    @ApiModelProperty(notes = "Upper bound of the 95% confidence interval")
+    private final long upperBound;
+
+    public DistinctCount(String scope, long estimate, double standardError) {
+        this.scope = scope;
+        this.estimate = estimate;
+        this.standardError = standardError;
+        this.lowerBound = Math.max(0, Math.round(estimate * (1 - 1.96 * standardError)));
+        this.upperBound = Math.round(estimate * (1 + 1.96 * standardError));
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public long getEstimate() {
+        return estimate;
+    }
+
+    public double getStandardError() {
+        return standardError;
+    }
+
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    public long getUpperBound() {
+        return upperBound;
+    }
+}
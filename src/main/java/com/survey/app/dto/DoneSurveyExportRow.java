@@ -0,0 +1,72 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+
+import java.util.UUID;
+
+/**
+ * Flat, unmanaged projection of one answer, read by the streaming export.
+ * Being a constructor projection it never enters the persistence context, so exports run in constant memory.
+ */
+@ApiModel(description = "One exported answer of a completed survey")
+public class DoneSurveyExportRow {
+
+    private final UUID id;
+    private final UUID surveyId;
+    private final String title;
+    private final String creatorName;
+    private final UUID submissionId;
+    private final String respondentName;
+    private final long questionId;
+    private final String questionText;
+    private final String givenAnswer;
+
+    public DoneSurveyExportRow(UUID id, UUID surveyId, String title, String creatorName, UUID submissionId,
+                               String respondentName, long questionId, String questionText, String givenAnswer) {
+        this.id = id;
+        this.surveyId = surveyId;
+        this.title = title;
+        this.creatorName = creatorName;
+        this.submissionId = submissionId;
+        this.respondentName = respondentName;
+        this.questionId = questionId;
+        this.questionText = questionText;
+        this.givenAnswer = givenAnswer;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCreatorName() {
+        return creatorName;
+    }
+
+    public UUID getSubmissionId() {
+        return submissionId;
+    }
+
+    public String getRespondentName() {
+        return respondentName;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public String getGivenAnswer() {
+        return givenAnswer;
+    }
+}
@@ -0,0 +1,30 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * An item of a bulk import that was not stored.
+ */
+@ApiModel(description = "An item of a bulk import that was not stored")
+public class ImportError {
+
+    @ApiModelProperty(notes = "Position of the item in the input, starting at 0")
+    private final long index;
+
+    @ApiModelProperty(notes = "Why the item was not stored")
+    private final String message;
+
+    public ImportError(long index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
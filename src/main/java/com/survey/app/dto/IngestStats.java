@@ -0,0 +1,71 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Snapshot of the asynchronous done survey ingestion queue, used to size the queue and the commit batches.
+ */
+@ApiModel(description = "Metrics of the asynchronous done survey ingestion queue")
+public class IngestStats {
+
+    @ApiModelProperty(notes = "Number of submissions waiting to be written")
+    private final int queueDepth;
+
+    @ApiModelProperty(notes = "Maximum number of submissions the queue can hold")
+    private final int queueCapacity;
+
+    @ApiModelProperty(notes = "Number of group commits executed since startup")
+    private final long commits;
+
+    @ApiModelProperty(notes = "Number of done survey rows written since startup")
+    private final long rowsWritten;
+
+    @ApiModelProperty(notes = "Number of done survey rows that could not be written")
+    private final long rowsFailed;
+
+    @ApiModelProperty(notes = "Average commit latency in milliseconds")
+    private final double averageCommitMillis;
+
+    @ApiModelProperty(notes = "Highest commit latency in milliseconds")
+    private final double maxCommitMillis;
+
+    public IngestStats(int queueDepth, int queueCapacity, long commits, long rowsWritten, long rowsFailed,
+                       double averageCommitMillis, double maxCommitMillis) {
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.commits = commits;
+        this.rowsWritten = rowsWritten;
+        this.rowsFailed = rowsFailed;
+        this.averageCommitMillis = averageCommitMillis;
+        this.maxCommitMillis = maxCommitMillis;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCommits() {
+        return commits;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public double getAverageCommitMillis() {
+        return averageCommitMillis;
+    }
+
+    public double getMaxCommitMillis() {
+        return maxCommitMillis;
+    }
+}
@@ -0,0 +1,42 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> The type of the items.
+ */
+@ApiModel(description = "One page of a cursor-paginated listing")
+public class KeysetPage<T> {
+
+    @ApiModelProperty(notes = "The items of the page")
+    private final List<T> items;
+
+    @ApiModelProperty(notes = "Opaque cursor of the next page, empty on the last page")
+    private final String nextCursor;
+
+    @ApiModelProperty(notes = "Total number of items, only when requested")
+    private final Long total;
+
+    public KeysetPage(List<T> items, String nextCursor, Long total) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+}
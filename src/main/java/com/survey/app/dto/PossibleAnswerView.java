@@ -0,0 +1,30 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Read-only view of a possible answer, on its own or inside a {@link QuestionView}.
+ */
+@ApiModel(description = "A possible answer, as returned when reading it or a survey")
+public class PossibleAnswerView {
+
+    @ApiModelProperty(notes = "The unique identifier of the possible answer")
+    private final long id;
+
+    @ApiModelProperty(notes = "The text of the possible answer")
+    private final String text;
+
+    public PossibleAnswerView(long id, String text) {
+        this.id = id;
+        this.text = text;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
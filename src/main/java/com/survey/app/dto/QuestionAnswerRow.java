@@ -0,0 +1,35 @@
+package com.survey.app.dto;
+
+/**
+ * Flat projection of one link between a question and a possible answer, read when assembling {@link SurveyView}s.
+ */
+public class QuestionAnswerRow {
+
+    private final long questionId;
+    private final long answerId;
+    private final long answerVersion;
+    private final String text;
+
+    public QuestionAnswerRow(long questionId, long answerId, long answerVersion, String text) {
+        this.questionId = questionId;
+        this.answerId = answerId;
+        this.answerVersion = answerVersion;
+        this.text = text;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getAnswerId() {
+        return answerId;
+    }
+
+    public long getAnswerVersion() {
+        return answerVersion;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
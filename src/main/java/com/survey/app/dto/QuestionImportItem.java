@@ -0,0 +1,89 @@
+package com.survey.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One question of a bulk import, together with its possible answers.
+ */
+@ApiModel(description = "A question to import with its possible answers")
+public class QuestionImportItem {
+
+    @ApiModelProperty(notes = "The title of the question")
+    private final String title;
+
+    @ApiModelProperty(notes = "The text of the question, required")
+    private final String questionText;
+
+    @ApiModelProperty(notes = "Flag indicating whether the question is required or optional")
+    private final boolean required;
+
+    @ApiModelProperty(notes = "The difficulty level of the question")
+    private final String difficulty;
+
+    @ApiModelProperty(notes = "The category of the question")
+    private final String category;
+
+    @ApiModelProperty(notes = "The custom answer format for the question, if applicable")
+    private final String customAnswer;
+
+    @ApiModelProperty(notes = "Texts of new possible answers to create for the question")
+    private final List<String> answers;
+
+    @ApiModelProperty(notes = "IDs of existing possible answers to link to the question")
+    private final List<Long> answerIds;
+
+    public QuestionImportItem(@JsonProperty("title") String title,
+                              @JsonProperty("questionText") String questionText,
+                              @JsonProperty("required") boolean required,
+                              @JsonProperty("difficulty") String difficulty,
+                              @JsonProperty("category") String category,
+                              @JsonProperty("customAnswer") String customAnswer,
+                              @JsonProperty("answers") List<String> answers,
+                              @JsonProperty("answerIds") List<Long> answerIds) {
+        this.title = title;
+        this.questionText = questionText;
+        this.required = required;
+        this.difficulty = difficulty;
+        this.category = category;
+        this.customAnswer = customAnswer;
+        this.answers = answers != null ? answers : Collections.emptyList();
+        this.answerIds = answerIds != null ? answerIds : Collections.emptyList();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCustomAnswer() {
+        return customAnswer;
+    }
+
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    public List<Long> getAnswerIds() {
+        return answerIds;
+    }
+}
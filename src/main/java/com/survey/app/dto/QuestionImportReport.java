@@ -0,0 +1,65 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk question import.
+ */
+@ApiModel(description = "Outcome of a bulk question import")
+public class QuestionImportReport {
+
+    @ApiModelProperty(notes = "Number of questions read from the input")
+    private final long received;
+
+    @ApiModelProperty(notes = "Number of questions stored")
+    private final long imported;
+
+    @ApiModelProperty(notes = "Number of questions that were not stored")
+    private final long failed;
+
+    @ApiModelProperty(notes = "The items that were not stored, up to the configured maximum")
+    private final List<ImportError> errors;
+
+    @ApiModelProperty(notes = "Whether the input could be read to its end")
+    private final boolean complete;
+
+    @ApiModelProperty(notes = "Duration of the import in milliseconds")
+    private final long elapsedMillis;
+
+    public QuestionImportReport(long received, long imported, long failed, List<ImportError> errors,
+                                boolean complete, long elapsedMillis) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.complete = complete;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,41 @@
+package com.survey.app.dto;
+
+/**
+ * The indexed fields of one question, read when building the in-memory question indexes.
+ */
+public class QuestionIndexRow {
+
+    private final long id;
+    private final String title;
+    private final String questionText;
+    private final String category;
+    private final String difficulty;
+
+    public QuestionIndexRow(long id, String title, String questionText, String category, String difficulty) {
+        this.id = id;
+        this.title = title;
+        this.questionText = questionText;
+        this.category = category;
+        this.difficulty = difficulty;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+}
@@ -0,0 +1,40 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Map;
+
+/**
+ * Answer distribution of one question.
+ */
+@ApiModel(description = "Answer distribution of one survey question")
+public class QuestionTally {
+
+    @ApiModelProperty(notes = "The unique identifier of the question")
+    private final long questionId;
+
+    @ApiModelProperty(notes = "Number of answers given to the question")
+    private final long total;
+
+    @ApiModelProperty(notes = "Number of times each answer was given")
+    private final Map<String, Long> answers;
+
+    public QuestionTally(long questionId, long total, Map<String, Long> answers) {
+        this.questionId = questionId;
+        this.total = total;
+        this.answers = answers;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getAnswers() {
+        return answers;
+    }
+}
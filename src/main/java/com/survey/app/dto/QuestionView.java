@@ -0,0 +1,88 @@
+package com.survey.app.dto;
+
+import com.survey.app.model.Question;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * Read-only view of a question inside a {@link SurveyView}. Unlike the entity it carries no link back to
+ * its survey, so serializing it never walks into another association.
+ */
+@ApiModel(description = "A question of a survey, as returned when reading a survey")
+public class QuestionView {
+
+    @ApiModelProperty(notes = "The unique identifier of the question")
+    private final long id;
+
+    @ApiModelProperty(notes = "The title of the question")
+    private final String title;
+
+    @ApiModelProperty(notes = "The text of the question")
+    private final String questionText;
+
+    @ApiModelProperty(notes = "Flag indicating whether the question is required or optional")
+    private final boolean required;
+
+    @ApiModelProperty(notes = "The difficulty level of the question")
+    private final String difficulty;
+
+    @ApiModelProperty(notes = "The category of the question")
+    private final String category;
+
+    @ApiModelProperty(notes = "The custom answer format for the question, if applicable")
+    private final String customAnswer;
+
+    @ApiModelProperty(notes = "The possible answers of the question, ordered by id")
+    private final List<PossibleAnswerView> possibleAnswerSet;
+
+    public QuestionView(Question question, List<PossibleAnswerView> possibleAnswerSet) {
+        this(question.getId(), question.getTitle(), question.getQuestionText(), question.isRequired(),
+                question.getDifficulty(), question.getCategory(), question.getCustomAnswer(), possibleAnswerSet);
+    }
+
+    public QuestionView(long id, String title, String questionText, boolean required, String difficulty,
+                        String category, String customAnswer, List<PossibleAnswerView> possibleAnswerSet) {
+        this.id = id;
+        this.title = title;
+        this.questionText = questionText;
+        this.required = required;
+        this.difficulty = difficulty;
+        this.category = category;
+        this.customAnswer = customAnswer;
+        this.possibleAnswerSet = possibleAnswerSet;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCustomAnswer() {
+        return customAnswer;
+    }
+
+    public List<PossibleAnswerView> getPossibleAnswerSet() {
+        return possibleAnswerSet;
+    }
+}
@@ -0,0 +1,44 @@
+package com.survey.app.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of one answer, read when loading a survey into the analytics engine.
+ */
+public class ResponseCell {
+
+    private final UUID submissionId;
+    private final String respondentName;
+    private final Instant submittedAt;
+    private final long questionId;
+    private final String answerText;
+
+    public ResponseCell(UUID submissionId, String respondentName, Instant submittedAt, long questionId, String answerText) {
+        this.submissionId = submissionId;
+        this.respondentName = respondentName;
+        this.submittedAt = submittedAt;
+        this.questionId = questionId;
+        this.answerText = answerText;
+    }
+
+    public UUID getSubmissionId() {
+        return submissionId;
+    }
+
+    public String getRespondentName() {
+        return respondentName;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public String getAnswerText() {
+        return answerText;
+    }
+}
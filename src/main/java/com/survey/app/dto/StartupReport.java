@@ -0,0 +1,57 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * Where the time went between the start of the JVM and the application being ready for requests.
+ */
+@ApiModel(description = "Startup phase timings of this instance")
+public class StartupReport {
+
+    @ApiModelProperty(notes = "The time from the start of the JVM until the application was ready, in milliseconds")
+    private final long readyMillis;
+
+    @ApiModelProperty(notes = "The time from the start of the JVM until Spring Boot started, in milliseconds")
+    private final long jvmMillis;
+
+    @ApiModelProperty(notes = "The number of beans created before the application was ready")
+    private final int beanCount;
+
+    @ApiModelProperty(notes = "The startup phases, in the order they began; nested phases are included in their parents")
+    private final List<StartupStepTiming> phases;
+
+    @ApiModelProperty(notes = "The beans that took longest to create, not counting the beans they depend on")
+    private final List<StartupStepTiming> slowestBeans;
+
+    public StartupReport(long readyMillis, long jvmMillis, int beanCount,
+                         List<StartupStepTiming> phases, List<StartupStepTiming> slowestBeans) {
+        this.readyMillis = readyMillis;
+        this.jvmMillis = jvmMillis;
+        this.beanCount = beanCount;
+        this.phases = phases;
+        this.slowestBeans = slowestBeans;
+    }
+
+    public long getReadyMillis() {
+        return readyMillis;
+    }
+
+    public long getJvmMillis() {
+        return jvmMillis;
+    }
+
+    public int getBeanCount() {
+        return beanCount;
+    }
+
+    public List<StartupStepTiming> getPhases() {
+        return phases;
+    }
+
+    public List<StartupStepTiming> getSlowestBeans() {
+        return slowestBeans;
+    }
+}
@@ -0,0 +1,38 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Time spent in one kind of startup step, or in creating one bean.
+ */
+@ApiModel(description = "Time spent in one startup phase or bean")
+public class StartupStepTiming {
+
+    @ApiModelProperty(notes = "The name of the startup step, or the bean name")
+    private final String name;
+
+    @ApiModelProperty(notes = "The number of times the step was taken")
+    private final int count;
+
+    @ApiModelProperty(notes = "The time spent in the step, in milliseconds")
+    private final long millis;
+
+    public StartupStepTiming(String name, int count, long millis) {
+        this.name = name;
+        this.count = count;
+        this.millis = millis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
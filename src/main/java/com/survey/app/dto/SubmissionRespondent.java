@@ -0,0 +1,38 @@
+package com.survey.app.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Who answered which survey and when, read when replaying submissions into the respondent sketches.
+ */
+public class SubmissionRespondent {
+
+    private final UUID surveyId;
+    private final String creatorName;
+    private final String respondentName;
+    private final Instant submittedAt;
+
+    public SubmissionRespondent(UUID surveyId, String creatorName, String respondentName, Instant submittedAt) {
+        this.surveyId = surveyId;
+        this.creatorName = creatorName;
+        this.respondentName = respondentName;
+        this.submittedAt = submittedAt;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+
+    public String getCreatorName() {
+        return creatorName;
+    }
+
+    public String getRespondentName() {
+        return respondentName;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.survey.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.survey.app.model.Survey;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only view of a survey with its questions and their possible answers, keeping the field names of the entity.
+ */
+@ApiModel(description = "A survey with its questions and their possible answers")
+public class SurveyView {
+
+    @ApiModelProperty(notes = "The unique identifier of the survey")
+    private final UUID id;
+
+    @ApiModelProperty(notes = "The title of the survey")
+    private final String title;
+
+    @ApiModelProperty(notes = "Flag indicating whether the survey is open or closed for responses")
+    private final boolean open;
+
+    @ApiModelProperty(notes = "The name of the creator of the survey")
+    private final String creatorName;
+
+    @ApiModelProperty(notes = "The questions of the survey, ordered by id")
+    private final List<QuestionView> questionList;
+
+    private final String eTag;
+
+    public SurveyView(Survey survey, List<QuestionView> questionList, String eTag) {
+        this(survey.getId(), survey.getTitle(), survey.isOpen(), survey.getCreatorName(), questionList, eTag);
+    }
+
+    public SurveyView(UUID id, String title, boolean open, String creatorName, List<QuestionView> questionList, String eTag) {
+        this.id = id;
+        this.title = title;
+        this.open = open;
+        this.creatorName = creatorName;
+        this.questionList = questionList;
+        this.eTag = eTag;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public String getCreatorName() {
+        return creatorName;
+    }
+
+    public List<QuestionView> getQuestionList() {
+        return questionList;
+    }
+
+    /**
+     * @return The entity tag of the view, computed from the versions it was read at.
+     */
+    @JsonIgnore
+    public String getETag() {
+        return eTag;
+    }
+}
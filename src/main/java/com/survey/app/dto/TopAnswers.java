@@ -0,0 +1,48 @@
+package com.survey.app.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Map;
+
+/**
+ * Most frequent answers of one question with their approximate counts.
+ */
+@ApiModel(description = "Most frequent answers of a survey question")
+public class TopAnswers {
+
+    @ApiModelProperty(notes = "The unique identifier of the question")
+    private final long questionId;
+
+    @ApiModelProperty(notes = "Number of answers given to the question")
+    private final long total;
+
+    @ApiModelProperty(notes = "Maximum overcount of any count, with high probability")
+    private final long errorBound;
+
+    @ApiModelProperty(notes = "Approximate count of each top answer, most frequent first")
+    private final Map<String, Long> answers;
+
+    public TopAnswers(long questionId, long total, long errorBound, Map<String, Long> answers) {
+        this.questionId = questionId;
+        this.total = total;
+        this.errorBound = errorBound;
+        this.answers = answers;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getErrorBound() {
+        return errorBound;
+    }
+
+    public Map<String, Long> getAnswers() {
+        return answers;
+    }
+}
@@ -0,0 +1,36 @@
+package com.survey.app.dto;
+
+/**
+ * Flat projection of the versions of a question and one of its possible answers, read to compute entity tags
+ * without loading the entities. The answer columns are null for a question without possible answers.
+ */
+public class VersionRow {
+
+    private final long questionId;
+    private final long questionVersion;
+    private final Long answerId;
+    private final Long answerVersion;
+
+    public VersionRow(long questionId, long questionVersion, Long answerId, Long answerVersion) {
+        this.questionId = questionId;
+        this.questionVersion = questionVersion;
+        this.answerId = answerId;
+        this.answerVersion = answerVersion;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getQuestionVersion() {
+        return questionVersion;
+    }
+
+    public Long getAnswerId() {
+        return answerId;
+    }
+
+    public Long getAnswerVersion() {
+        return answerVersion;
+    }
+}
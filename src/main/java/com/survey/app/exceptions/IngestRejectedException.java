@@ -0,0 +1,14 @@
+package com.survey.app.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class IngestRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IngestRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.survey.app.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.persistence.*;
+
+/**
+ * AnswerText is the dictionary entry for a given answer. Every distinct answer string is stored once, which the
+ * unique key on the text enforces, and completed surveys reference it by id, so repeated answers do not repeat their text.
+ */
+@ApiModel(description = "Dictionary entry holding the text of a given answer once")
+@Entity(name = "ANSWER_TEXT")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_answer_text_text", columnNames = "text"))
+public class AnswerText {
+
+    @Id
+    @GeneratedValue
+    @ApiModelProperty(notes = "The unique identifier of the answer text, generated automatically")
+    private long id;
+
+    @Column(nullable = false)
+    @ApiModelProperty(notes = "The text of the answer")
+    private String text;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public AnswerText() {
+    }
+
+    public AnswerText(String text) {
+        this.text = text;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
@@ -1,12 +1,13 @@
 package com.survey.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import org.hibernate.annotations.GenericGenerator;
 
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.Id;
+import javax.persistence.*;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -15,28 +16,77 @@ import java.util.UUID;
  * from three prestigious Harvard University research faculties.
  * This class ensures each survey captures the nuanced insights and high-level academic rigor
  * that Harvard is renowned for, providing invaluable data for research and development.
+ * <p>
+ * A row only stores references to its {@link Submission}, {@link Question} and {@link AnswerText};
+ * the survey title, creator, respondent, question text and answer are read through them.
+ * The plain text values are kept for incoming payloads that identify the survey and question by text.
  */
 @ApiModel(description = "Details about a completed survey, reflecting over 100 years of combined expertise from Harvard University researchers")
 @Entity(name = "DONE_SURVEY")
+@Table(indexes = @Index(name = "idx_done_survey_recorded_at_id", columnList = "recordedAt, id"))
 public class DoneSurvey {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "assignable-uuid")
+    @GenericGenerator(name = "assignable-uuid", strategy = "com.survey.app.model.id.AssignableUuidGenerator")
     @ApiModelProperty(notes = "The unique identifier of the completed survey, generated automatically")
     private UUID id;
 
+    /**
+     * Stays null until the row is first written, so a row with an id assigned up front is still treated as new.
+     */
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "submission_id")
+    private Submission submission;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "question_id")
+    private Question question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "answer_text_id")
+    private AnswerText answer;
+
+    /**
+     * Set by the writer and never changed, so it orders the rows by insertion for keyset pagination.
+     */
+    @Column(nullable = false, updatable = false)
+    @ApiModelProperty(notes = "The moment the answer was recorded, assigned by the server", readOnly = true)
+    private Instant recordedAt;
+
+    @Transient
+    @ApiModelProperty(notes = "The unique identifier of the submission this answer belongs to, a new submission is started when empty")
+    private UUID submissionId;
+
+    @Transient
+    @ApiModelProperty(notes = "The unique identifier of the answered survey, resolved from title and creator name when empty")
+    private UUID surveyId;
+
+    @Transient
+    @ApiModelProperty(notes = "The unique identifier of the answered question, resolved from the question text when empty")
+    private Long questionId;
+
+    @Transient
     @ApiModelProperty(notes = "The title of the survey, indicative of the core topic or research question")
     private String title;
 
+    @Transient
     @ApiModelProperty(notes = "The name of the survey's creator, showcasing the individual or organization responsible for the survey design")
     private String creatorName;
 
+    @Transient
     @ApiModelProperty(notes = "The name of the respondent who completed the survey, essential for attributing the provided insights")
     private String respondentName;
 
+    @Transient
     @ApiModelProperty(notes = "The text of the question within the survey, crafted to elicit informative and valuable responses")
     private String questionText;
 
+    @Transient
     @ApiModelProperty(notes = "The specific answer given by the respondent, representing their unique perspective or information")
     private String givenAnswer;
 
@@ -79,8 +129,75 @@ public class DoneSurvey {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(Instant recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    @JsonIgnore
+    public Submission getSubmission() {
+        return submission;
+    }
+
+    public void setSubmission(Submission submission) {
+        this.submission = submission;
+    }
+
+    @JsonIgnore
+    public Question getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(Question question) {
+        this.question = question;
+    }
+
+    @JsonIgnore
+    public AnswerText getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(AnswerText answer) {
+        this.answer = answer;
+    }
+
+    public UUID getSubmissionId() {
+        return submission != null ? submission.getId() : submissionId;
+    }
+
+    public void setSubmissionId(UUID submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public UUID getSurveyId() {
+        return submission != null ? submission.getSurvey().getId() : surveyId;
+    }
+
+    public void setSurveyId(UUID surveyId) {
+        this.surveyId = surveyId;
+    }
+
+    public Long getQuestionId() {
+        return question != null ? Long.valueOf(question.getId()) : questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
     public String getRespondentName() {
-        return respondentName;
+        return submission != null ? submission.getRespondentName() : respondentName;
     }
 
     public void setRespondentName(String respondentName) {
@@ -88,7 +205,7 @@ public class DoneSurvey {
     }
 
     public String getTitle() {
-        return title;
+        return submission != null ? submission.getSurvey().getTitle() : title;
     }
 
     public void setTitle(String title) {
@@ -96,7 +213,7 @@ public class DoneSurvey {
     }
 
     public String getCreatorName() {
-        return creatorName;
+        return submission != null ? submission.getSurvey().getCreatorName() : creatorName;
     }
 
     public void setCreatorName(String creatorName) {
@@ -104,7 +221,7 @@ public class DoneSurvey {
     }
 
     public String getQuestionText() {
-        return questionText;
+        return question != null ? question.getQuestionText() : questionText;
     }
 
     public void setQuestionText(String questionText) {
@@ -112,7 +229,7 @@ public class DoneSurvey {
     }
 
     public String getGivenAnswer() {
-        return givenAnswer;
+        return answer != null ? answer.getText() : givenAnswer;
     }
 
     public void setGivenAnswer(String givenAnswer) {
@@ -1,8 +1,12 @@
 package com.survey.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.survey.app.CacheConfiguration;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.HashSet;
@@ -16,18 +20,26 @@ import java.util.Set;
  */
 @ApiModel(description = "Represents a potential answer to a survey question, leveraging extensive research expertise from Harvard University")
 @Entity(name = "POSSIBLE_ANSWER")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.POSSIBLE_ANSWER)
 public class PossibleAnswer {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "possible_answer_seq")
+    @SequenceGenerator(name = "possible_answer_seq", sequenceName = "possible_answer_seq", allocationSize = 50)
     @ApiModelProperty(notes = "The unique identifier of the possible answer, generated automatically")
     private long id;
 
+    @Version
+    @JsonIgnore
+    private long version;
+
     @ApiModelProperty(notes = "The text of the possible answer, designed to provide a clear and concise response option")
     private String text;
 
     @ApiModelProperty(notes = "The set of questions that this answer is associated with, reflecting its applicability across multiple contexts")
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.POSSIBLE_ANSWER_QUESTIONS)
     @JoinTable(
             name = "questions_possible_answers",
             joinColumns = @JoinColumn(name = "possible_answer_id"),
@@ -64,6 +76,14 @@ public class PossibleAnswer {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getText() {
         return text;
     }
@@ -1,7 +1,11 @@
 package com.survey.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.survey.app.CacheConfiguration;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.HashSet;
@@ -15,15 +19,26 @@ import java.util.Set;
  */
 @ApiModel(description = "Represents a single question in a survey, designed with research expertise from Harvard University")
 @Entity
-@Table(name = "question")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.QUESTION)
+@Table(name = "question", indexes = {
+        @Index(name = "idx_question_category_id", columnList = "category, question_id"),
+        @Index(name = "idx_question_difficulty", columnList = "difficulty"),
+        @Index(name = "idx_question_survey_id", columnList = "survey_id, question_id")
+})
 public class Question {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+    @SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = 50)
     @Column(name = "question_id")
     @ApiModelProperty(notes = "The unique identifier of the question, automatically generated")
     private long id;
 
+    @Version
+    @JsonIgnore
+    private long version;
+
     @Column(name = "question_text")
     @ApiModelProperty(notes = "The text of the question, carefully crafted to elicit specific responses")
     private String questionText;
@@ -52,6 +67,7 @@ public class Question {
     private DoneSurvey doneSurvey;
 
     @ManyToMany(mappedBy = "questionSet")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.QUESTION_ANSWERS)
     private Set<PossibleAnswer> possibleAnswerSet = new HashSet<>();
 
     /**
@@ -93,6 +109,14 @@ public class Question {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getQuestionText() {
         return questionText;
     }
@@ -0,0 +1,55 @@
+package com.survey.app.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import java.time.Instant;
+
+/**
+ * RespondentSketch persists the registers of a HyperLogLog sketch counting the distinct respondents
+ * of one survey, one day or one creator.
+ */
+@ApiModel(description = "Persisted HyperLogLog sketch of distinct respondents")
+@Entity(name = "RESPONDENT_SKETCH")
+public class RespondentSketch {
+
+    @Id
+    @ApiModelProperty(notes = "What the sketch counts, e.g. survey:<id>, day:<date> or creator:<name>")
+    private String sketchKey;
+
+    @Lob
+    @Column(nullable = false)
+    @ApiModelProperty(notes = "The registers of the sketch")
+    private byte[] registers;
+
+    @ApiModelProperty(notes = "When the sketch was last persisted")
+    private Instant savedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public RespondentSketch() {
+    }
+
+    public RespondentSketch(String sketchKey, byte[] registers, Instant savedAt) {
+        this.sketchKey = sketchKey;
+        this.registers = registers;
+        this.savedAt = savedAt;
+    }
+
+    public String getSketchKey() {
+        return sketchKey;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public Instant getSavedAt() {
+        return savedAt;
+    }
+}
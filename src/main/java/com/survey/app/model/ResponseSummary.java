@@ -0,0 +1,55 @@
+package com.survey.app.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * ResponseSummary holds the number of times an answer was given to a question of a survey.
+ * It is maintained incrementally in the transaction that stores the answers, so reports read this
+ * small table instead of aggregating DONE_SURVEY.
+ */
+@ApiModel(description = "Number of times an answer was given to a survey question")
+@Entity(name = "RESPONSE_SUMMARY")
+@Table(indexes = @Index(name = "idx_response_summary_survey", columnList = "survey_id, question_id"))
+public class ResponseSummary {
+
+    @EmbeddedId
+    private ResponseSummaryId id;
+
+    @Column(name = "possible_answer_id")
+    @ApiModelProperty(notes = "The possible answer of the question matching the given text, empty for free-text answers")
+    private Long possibleAnswerId;
+
+    @ApiModelProperty(notes = "Number of times the answer was given")
+    private long answerCount;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public ResponseSummary() {
+    }
+
+    public ResponseSummary(ResponseSummaryId id, Long possibleAnswerId, long answerCount) {
+        this.id = id;
+        this.possibleAnswerId = possibleAnswerId;
+        this.answerCount = answerCount;
+    }
+
+    public ResponseSummaryId getId() {
+        return id;
+    }
+
+    public Long getPossibleAnswerId() {
+        return possibleAnswerId;
+    }
+
+    public long getAnswerCount() {
+        return answerCount;
+    }
+}
@@ -0,0 +1,66 @@
+package com.survey.app.model;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Key of a {@link ResponseSummary} row: one answer text given to one question of one survey.
+ */
+@Embeddable
+public class ResponseSummaryId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "survey_id")
+    private UUID surveyId;
+
+    @Column(name = "question_id")
+    private long questionId;
+
+    @Column(name = "answer_text_id")
+    private long answerTextId;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public ResponseSummaryId() {
+    }
+
+    public ResponseSummaryId(UUID surveyId, long questionId, long answerTextId) {
+        this.surveyId = surveyId;
+        this.questionId = questionId;
+        this.answerTextId = answerTextId;
+    }
+
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public long getAnswerTextId() {
+        return answerTextId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResponseSummaryId)) {
+            return false;
+        }
+        ResponseSummaryId that = (ResponseSummaryId) o;
+        return questionId == that.questionId && answerTextId == that.answerTextId && Objects.equals(surveyId, that.surveyId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(surveyId, questionId, answerTextId);
+    }
+}
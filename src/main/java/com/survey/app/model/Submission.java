@@ -0,0 +1,94 @@
+package com.survey.app.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Submission groups all answers one respondent gave to one survey.
+ * The survey is referenced by id, so its title and creator are stored only once on the survey itself.
+ */
+@ApiModel(description = "Groups the answers one respondent gave to one survey")
+@Entity(name = "SUBMISSION")
+@Table(indexes = {
+        @Index(name = "idx_submission_respondent_name", columnList = "respondentName"),
+        @Index(name = "idx_submission_submitted_at", columnList = "submittedAt")
+})
+public class Submission {
+
+    @Id
+    @GeneratedValue(generator = "assignable-uuid")
+    @GenericGenerator(name = "assignable-uuid", strategy = "com.survey.app.model.id.AssignableUuidGenerator")
+    @ApiModelProperty(notes = "The unique identifier of the submission, generated automatically")
+    private UUID id;
+
+    @Version
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "survey_id")
+    @ApiModelProperty(notes = "The survey that was answered")
+    private Survey survey;
+
+    @ApiModelProperty(notes = "The name of the respondent who answered the survey")
+    private String respondentName;
+
+    @ApiModelProperty(notes = "The moment the submission was first recorded")
+    private Instant submittedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public Submission() {
+    }
+
+    public Submission(Survey survey, String respondentName, Instant submittedAt) {
+        this.survey = survey;
+        this.respondentName = respondentName;
+        this.submittedAt = submittedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Survey getSurvey() {
+        return survey;
+    }
+
+    public void setSurvey(Survey survey) {
+        this.survey = survey;
+    }
+
+    public String getRespondentName() {
+        return respondentName;
+    }
+
+    public void setRespondentName(String respondentName) {
+        this.respondentName = respondentName;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+}
@@ -1,7 +1,12 @@
 package com.survey.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.survey.app.CacheConfiguration;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -17,13 +22,28 @@ import java.util.UUID;
  */
 @ApiModel(description = "Represents a collection of questions designed to gather insights and opinions from respondents")
 @Entity(name = "SURVEY")
+@Table(indexes = {
+        @Index(name = "idx_survey_creator_name_title", columnList = "creatorName, title"),
+        @Index(name = "idx_survey_open", columnList = "open")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfiguration.SURVEY)
 public class Survey {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "time-ordered-uuid")
+    @GenericGenerator(name = "time-ordered-uuid", strategy = "com.survey.app.model.id.TimeOrderedUuidGenerator")
     @ApiModelProperty(notes = "The unique identifier of the survey, automatically generated")
     private UUID id;
 
+    /**
+     * Primitive, like on {@link Question} and {@link PossibleAnswer}, so Spring Data keeps telling new
+     * and existing rows apart by the id as it did before the versions were added.
+     */
+    @Version
+    @JsonIgnore
+    private long version;
+
     @NotBlank
     @ApiModelProperty(notes = "The title of the survey, providing context and purpose")
     private String title;
@@ -72,6 +92,14 @@ public class Survey {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -0,0 +1,22 @@
+package com.survey.app.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.io.Serializable;
+
+/**
+ * UUID generator that keeps an id assigned by the application before the entity is persisted
+ * and only generates a new one when the id is still empty.
+ * This lets the asynchronous ingestion path hand out ids to clients before the rows are written.
+ */
+public class AssignableUuidGenerator extends TimeOrderedUuidGenerator {
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        Serializable id = session.getEntityPersister(null, object).getIdentifier(object, session);
+        if (id != null) {
+            return id;
+        }
+        return super.generate(session, object);
+    }
+}
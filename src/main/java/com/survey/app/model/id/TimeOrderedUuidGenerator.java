@@ -0,0 +1,34 @@
+package com.survey.app.model.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * UUID generator using the {@link UuidStrategy} of the {@code survey.ids.uuid-strategy} Hibernate setting,
+ * time-ordered unless it says otherwise.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator, Configurable {
+
+    private UuidStrategy strategy = UuidStrategy.TIME_ORDERED;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object value = serviceRegistry.getService(ConfigurationService.class).getSettings().get(UuidStrategy.SETTING);
+        if (value != null) {
+            strategy = UuidStrategy.fromValue(value.toString());
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return strategy.next();
+    }
+}
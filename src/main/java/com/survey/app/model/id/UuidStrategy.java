@@ -0,0 +1,52 @@
+package com.survey.app.model.id;
+
+import com.survey.app.util.TimeOrderedUuids;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * How new UUID primary keys are generated, chosen with {@code survey.ids.uuid-strategy}.
+ */
+public enum UuidStrategy {
+
+    /**
+     * Version 4 UUIDs; every insert lands at a random place of the primary key index.
+     */
+    RANDOM {
+        @Override
+        public UUID next() {
+            return UUID.randomUUID();
+        }
+    },
+
+    /**
+     * Version 7 UUIDs, increasing with the time they were generated at, so inserts are appended to the index.
+     */
+    TIME_ORDERED {
+        @Override
+        public UUID next() {
+            return TIME_ORDERED_UUIDS.next();
+        }
+    };
+
+    /**
+     * Name of the setting, both in the application properties and in the Hibernate properties.
+     */
+    public static final String SETTING = "survey.ids.uuid-strategy";
+
+    private static final TimeOrderedUuids TIME_ORDERED_UUIDS = new TimeOrderedUuids();
+
+    public abstract UUID next();
+
+    /**
+     * @param value {@code random} or {@code time-ordered}, in any case.
+     */
+    public static UuidStrategy fromValue(String value) {
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported UUID strategy: " + value, e);
+        }
+    }
+}
@@ -1,8 +1,24 @@
 package com.survey.app.repositories;
 
+import com.survey.app.dto.QuestionAnswerRow;
 import com.survey.app.model.PossibleAnswer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AnswerRepository extends JpaRepository <PossibleAnswer, Long> {
 
+    @Query("select pa.id from POSSIBLE_ANSWER pa join pa.questionSet q where q.id = :questionId and pa.text = :text")
+    List<Long> findIdsByQuestionIdAndText(@Param("questionId") long questionId, @Param("text") String text);
+
+    @Query("select new com.survey.app.dto.QuestionAnswerRow(q.id, pa.id, pa.version, pa.text) " +
+            "from POSSIBLE_ANSWER pa join pa.questionSet q where q.id in :questionIds order by pa.id")
+    List<QuestionAnswerRow> findRowsByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    @Query("select pa.version from POSSIBLE_ANSWER pa where pa.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
 }
@@ -0,0 +1,10 @@
+package com.survey.app.repositories;
+
+import com.survey.app.model.AnswerText;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AnswerTextRepository extends JpaRepository<AnswerText, Long> {
+    Optional<AnswerText> findByText(String text);
+}
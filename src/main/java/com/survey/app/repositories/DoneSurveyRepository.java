@@ -1,12 +1,80 @@
 package com.survey.app.repositories;
 
+import com.survey.app.dto.DoneSurveyExportRow;
+import com.survey.app.dto.ResponseCell;
 import com.survey.app.model.DoneSurvey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface DoneSurveyRepository extends JpaRepository<DoneSurvey, UUID> {
-    List<DoneSurvey> findDoneSurveysByCreatorName(String creatorName);
-    List<DoneSurvey> findDoneSurveysByRespondentName(String respondentName);
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    String PAGE_SELECT = "select d from DONE_SURVEY d join fetch d.submission s join fetch s.survey sv join fetch d.question " +
+            "left join fetch d.answer ";
+
+    String PAGE_AFTER = "and (d.recordedAt < :recordedAt or (d.recordedAt = :recordedAt and d.id < :id)) ";
+
+    String PAGE_ORDER = "order by d.recordedAt desc, d.id desc";
+
+    String EXPORT_SELECT = "select new com.survey.app.dto.DoneSurveyExportRow(d.id, sv.id, sv.title, sv.creatorName, " +
+            "s.id, s.respondentName, q.id, q.questionText, a.text) " +
+            "from DONE_SURVEY d join d.submission s join s.survey sv join d.question q left join d.answer a ";
+
+    @Query("select d from DONE_SURVEY d join fetch d.submission s join fetch s.survey sv join fetch d.question " +
+            "left join fetch d.answer where sv.creatorName = :creatorName")
+    List<DoneSurvey> findDoneSurveysByCreatorName(@Param("creatorName") String creatorName);
+
+    @Query("select d from DONE_SURVEY d join fetch d.submission s join fetch s.survey join fetch d.question " +
+            "left join fetch d.answer where s.respondentName = :respondentName")
+    List<DoneSurvey> findDoneSurveysByRespondentName(@Param("respondentName") String respondentName);
+
+    /*
+     * Keyset pages, newest first. The pageable only carries the limit; all joins are to-one,
+     * so the limit is applied by the database.
+     */
+    @Query(PAGE_SELECT + "where sv.creatorName = :creatorName " + PAGE_ORDER)
+    List<DoneSurvey> findPageByCreatorName(@Param("creatorName") String creatorName, Pageable limit);
+
+    @Query(PAGE_SELECT + "where sv.creatorName = :creatorName " + PAGE_AFTER + PAGE_ORDER)
+    List<DoneSurvey> findPageByCreatorNameAfter(@Param("creatorName") String creatorName,
+                                                @Param("recordedAt") Instant recordedAt,
+                                                @Param("id") UUID id, Pageable limit);
+
+    @Query(PAGE_SELECT + "where s.respondentName = :respondentName " + PAGE_ORDER)
+    List<DoneSurvey> findPageByRespondentName(@Param("respondentName") String respondentName, Pageable limit);
+
+    @Query(PAGE_SELECT + "where s.respondentName = :respondentName " + PAGE_AFTER + PAGE_ORDER)
+    List<DoneSurvey> findPageByRespondentNameAfter(@Param("respondentName") String respondentName,
+                                                   @Param("recordedAt") Instant recordedAt,
+                                                   @Param("id") UUID id, Pageable limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "where sv.creatorName = :creatorName")
+    Stream<DoneSurveyExportRow> streamByCreatorName(@Param("creatorName") String creatorName);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "where sv.creatorName = :creatorName and sv.id = :surveyId")
+    Stream<DoneSurveyExportRow> streamBySurveyAndCreatorName(@Param("surveyId") UUID surveyId,
+                                                             @Param("creatorName") String creatorName);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "where s.respondentName = :respondentName")
+    Stream<DoneSurveyExportRow> streamByRespondentName(@Param("respondentName") String respondentName);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new com.survey.app.dto.ResponseCell(s.id, s.respondentName, s.submittedAt, d.question.id, a.text) " +
+            "from DONE_SURVEY d join d.submission s left join d.answer a where s.survey.id = :surveyId")
+    Stream<ResponseCell> streamResponseCells(@Param("surveyId") UUID surveyId);
 }
@@ -1,11 +1,30 @@
-package com.survey.app.repositories;
-
-import com.survey.app.model.Question;
-import org.springframework.data.repository.PagingAndSortingRepository;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface QuestionRepo extends PagingAndSortingRepository<Question, Long> {
-// Other Method goes here
-
-}
+package com.survey.app.repositories;
+
+import com.survey.app.model.Question;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The keyset queries take a first-page {@link Pageable} only for its limit, so no offset or count query is run.
+ */
+@Repository
+public interface QuestionRepo extends PagingAndSortingRepository<Question, Long> {
+
+    List<Question> findByIdGreaterThanOrderByIdAsc(long id, Pageable limit);
+
+    @Query("select q from Question q order by q.category asc nulls first, q.id asc")
+    List<Question> findAllOrderByCategory(Pageable limit);
+
+    @Query("select q from Question q where (q.category is null and q.id > :id) or q.category is not null " +
+            "order by q.category asc nulls first, q.id asc")
+    List<Question> findAfterNullCategory(@Param("id") long id, Pageable limit);
+
+    @Query("select q from Question q where q.category > :category or (q.category = :category and q.id > :id) " +
+            "order by q.category asc, q.id asc")
+    List<Question> findAfterCategory(@Param("category") String category, @Param("id") long id, Pageable limit);
+}
@@ -1,25 +1,52 @@
 package com.survey.app.repositories;
 
+import com.survey.app.dto.QuestionIndexRow;
+import com.survey.app.dto.VersionRow;
 import com.survey.app.model.Question;
+import com.survey.app.model.Survey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    String VERSION_SELECT = "select new com.survey.app.dto.VersionRow(q.id, q.version, pa.id, pa.version) " +
+            "from Question q left join q.possibleAnswerSet pa ";
+
     List<Question> findByTitleContaining(String title);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Question> findByDifficulty(String difficulty);
 
-    @Query(value = "SELECT * FROM questions ORDER BY RAND() LIMIT 1", nativeQuery = true)
-    Question findRandomQuestion();
-
 
     long count();
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Question> findByCategory(String category);
 
+    List<Question> findBySurveyOrderById(Survey survey);
+
+    @Query("select q.survey.creatorName from Question q where q.id = :id")
+    Optional<String> findCreatorNameById(@Param("id") long id);
+
     Page<Question> findAll(Pageable pageable);
+
+    @Query("select new com.survey.app.dto.QuestionIndexRow(q.id, q.title, q.questionText, q.category, q.difficulty) from Question q")
+    List<QuestionIndexRow> findAllIndexRows();
+
+    @Query(VERSION_SELECT + "where q.survey.id = :surveyId order by q.id, pa.id")
+    List<VersionRow> findVersionRowsBySurveyId(@Param("surveyId") UUID surveyId);
+
+    @Query(VERSION_SELECT + "where q.id = :id order by pa.id")
+    List<VersionRow> findVersionRowsById(@Param("id") long id);
 }
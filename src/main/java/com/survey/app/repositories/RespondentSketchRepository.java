@@ -0,0 +1,8 @@
+package com.survey.app.repositories;
+
+import com.survey.app.model.RespondentSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RespondentSketchRepository extends JpaRepository<RespondentSketch, String> {
+
+}
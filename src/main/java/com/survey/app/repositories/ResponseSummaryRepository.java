@@ -0,0 +1,36 @@
+package com.survey.app.repositories;
+
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.model.ResponseSummary;
+import com.survey.app.model.ResponseSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ResponseSummaryRepository extends JpaRepository<ResponseSummary, ResponseSummaryId> {
+
+    @Modifying
+    @Query("update RESPONSE_SUMMARY r set r.answerCount = r.answerCount + :delta where r.id = :id")
+    int increment(@Param("id") ResponseSummaryId id, @Param("delta") long delta);
+
+    @Query("select new com.survey.app.dto.AnswerCount(r.id.surveyId, r.id.questionId, a.text, r.answerCount, r.possibleAnswerId) " +
+            "from RESPONSE_SUMMARY r, ANSWER_TEXT a where a.id = r.id.answerTextId")
+    List<AnswerCount> findAllCounts();
+
+    @Query("select new com.survey.app.dto.AnswerCount(r.id.surveyId, r.id.questionId, a.text, r.answerCount, r.possibleAnswerId) " +
+            "from RESPONSE_SUMMARY r, ANSWER_TEXT a where a.id = r.id.answerTextId and r.id.surveyId = :surveyId " +
+            "order by r.id.questionId, r.answerCount desc")
+    List<AnswerCount> findCountsBySurveyId(@Param("surveyId") UUID surveyId);
+
+    /*
+     * The survey of the question is looked up first, so the rows are read through the survey index.
+     */
+    @Query("select new com.survey.app.dto.AnswerCount(r.id.surveyId, r.id.questionId, a.text, r.answerCount, r.possibleAnswerId) " +
+            "from RESPONSE_SUMMARY r, ANSWER_TEXT a where a.id = r.id.answerTextId " +
+            "and r.id.surveyId = (select q.survey.id from Question q where q.id = :questionId) and r.id.questionId = :questionId")
+    List<AnswerCount> findCountsByQuestionId(@Param("questionId") long questionId);
+}
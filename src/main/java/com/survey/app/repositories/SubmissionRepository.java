@@ -0,0 +1,23 @@
+package com.survey.app.repositories;
+
+import com.survey.app.dto.SubmissionRespondent;
+import com.survey.app.model.Submission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface SubmissionRepository extends JpaRepository<Submission, UUID> {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = DoneSurveyRepository.EXPORT_FETCH_SIZE))
+    @Query("select new com.survey.app.dto.SubmissionRespondent(sv.id, sv.creatorName, s.respondentName, s.submittedAt) " +
+            "from SUBMISSION s join s.survey sv where s.submittedAt >= :since")
+    Stream<SubmissionRespondent> streamSubmittedSince(@Param("since") Instant since);
+}
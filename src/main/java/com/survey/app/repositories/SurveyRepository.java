@@ -2,11 +2,39 @@ package com.survey.app.repositories;
 
 import com.survey.app.model.Survey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 public interface SurveyRepository extends JpaRepository<Survey, UUID> {
-    List<Survey> findByCreatorName(String creatorName);
-    List<Survey> findAllByOpenIsTrue();
+    Optional<Survey> findFirstByTitleAndCreatorName(String title, String creatorName);
+
+    @Query("select s.version from SURVEY s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("select s.creatorName from SURVEY s where s.id = :id")
+    Optional<String> findCreatorNameById(@Param("id") UUID id);
+
+    /*
+     * Fetch plans for reading whole surveys: the questions are joined in the same query,
+     * the distinct only removes the duplicate survey references in memory.
+     */
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct s from SURVEY s left join fetch s.questionList where s.id = :id")
+    Optional<Survey> findWithQuestionsById(@Param("id") UUID id);
+
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct s from SURVEY s left join fetch s.questionList where s.creatorName = :creatorName")
+    List<Survey> findWithQuestionsByCreatorName(@Param("creatorName") String creatorName);
+
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct s from SURVEY s left join fetch s.questionList where s.open = true")
+    List<Survey> findOpenWithQuestions();
 }
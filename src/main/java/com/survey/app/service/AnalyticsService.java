@@ -0,0 +1,13 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AnswerDistribution;
+import com.survey.app.dto.CrossTab;
+
+import java.util.UUID;
+
+public interface AnalyticsService {
+
+    CrossTab getCrossTab(UUID surveyId, long rowQuestionId, long columnQuestionId, ResponseFilter filter);
+    AnswerDistribution getDistribution(UUID surveyId, long questionId, ResponseFilter filter);
+
+}
@@ -0,0 +1,79 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AnswerDistribution;
+import com.survey.app.dto.CrossTab;
+import com.survey.app.dto.ResponseCell;
+import com.survey.app.repositories.DoneSurveyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.transaction.Transactional;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Answers analytics queries from a {@link ResponseMatrix} per survey. Matrices are loaded on first use
+ * and dropped once new answers to their survey are committed; a matrix whose survey changed while it was
+ * loading is used for that one request but not cached. Only the creator of a survey can query it.
+ */
+@Service
+@Transactional
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    @Autowired
+    private DoneSurveyRepository doneSurveyRepository;
+
+    @Autowired
+    private SurveyAccess surveyAccess;
+
+    @Value("${survey.analytics.max-cached-surveys:100}")
+    private int maxCachedSurveys;
+
+    private final ConcurrentMap<UUID, ResponseMatrix> matrices = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Long> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public CrossTab getCrossTab(UUID surveyId, long rowQuestionId, long columnQuestionId, ResponseFilter filter) {
+        return getMatrix(surveyId).crossTab(rowQuestionId, columnQuestionId, filter);
+    }
+
+    @Override
+    public AnswerDistribution getDistribution(UUID surveyId, long questionId, ResponseFilter filter) {
+        return getMatrix(surveyId).distribution(questionId, filter);
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(DoneSurveysRecordedEvent event) {
+        Set<UUID> surveyIds = new HashSet<>();
+        event.getAnswers().forEach(answer -> surveyIds.add(answer.getSurveyId()));
+        for (UUID surveyId : surveyIds) {
+            generations.merge(surveyId, 1L, Long::sum);
+            matrices.remove(surveyId);
+        }
+    }
+
+    private ResponseMatrix getMatrix(UUID surveyId) {
+        surveyAccess.checkSurvey(surveyId);
+        ResponseMatrix matrix = matrices.get(surveyId);
+        if (matrix != null) {
+            return matrix;
+        }
+        long generation = generations.getOrDefault(surveyId, 0L);
+        ResponseMatrix.Builder builder = new ResponseMatrix.Builder();
+        try (Stream<ResponseCell> cells = doneSurveyRepository.streamResponseCells(surveyId)) {
+            cells.forEach(builder::add);
+        }
+        ResponseMatrix loaded = builder.build();
+        if (matrices.size() < maxCachedSurveys) {
+            matrices.compute(surveyId, (id, current) ->
+                    generations.getOrDefault(surveyId, 0L) == generation ? loaded : current);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,95 @@
+package com.survey.app.service;
+
+import com.survey.app.model.AnswerText;
+import com.survey.app.repositories.AnswerTextRepository;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns given answers into the {@link AnswerText} dictionary table.
+ * Known texts are resolved from an in-memory map to a reference without querying the database;
+ * a new text is inserted once and only cached after its transaction commits.
+ * The text is a unique key, so every text has a single id, which the summaries per answer rely on.
+ * A transaction interning a new text that another one is inserting waits for it and then takes the other's
+ * entry; interning the texts of a transaction in a fixed order keeps two such transactions from deadlocking.
+ */
+@Component
+public class AnswerDictionary {
+
+    private static final String INSERT = "insert into ANSWER_TEXT (id, text) values (?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AnswerTextRepository answerTextRepository;
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    private final int maxCachedEntries;
+
+    public AnswerDictionary(AnswerTextRepository answerTextRepository,
+                            @Value("${survey.answer-dictionary.max-cached-entries:100000}") int maxCachedEntries) {
+        this.answerTextRepository = answerTextRepository;
+        this.maxCachedEntries = maxCachedEntries;
+    }
+
+    /**
+     * Must be called inside a transaction.
+     *
+     * @param text The given answer, may be null.
+     * @return The dictionary entry for the text, or null for a null text.
+     */
+    public AnswerText intern(String text) {
+        if (text == null) {
+            return null;
+        }
+        Long id = ids.get(text);
+        if (id == null) {
+            id = answerTextRepository.findByText(text).map(AnswerText::getId).orElseGet(() -> insert(text));
+            remember(text, id);
+        }
+        return answerTextRepository.getOne(id);
+    }
+
+    private long insert(String text) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        AnswerText answerText = new AnswerText(text);
+        long id = (Long) session.getEntityPersister(null, answerText).getIdentifierGenerator().generate(session, answerText);
+        boolean inserted = session.doReturningWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                insert.setLong(1, id);
+                insert.setString(2, text);
+                return UniqueInserts.insert(connection, insert);
+            }
+        });
+        if (inserted) {
+            return id;
+        }
+        // another transaction inserted the text first and has committed it
+        return answerTextRepository.findByText(text).map(AnswerText::getId)
+                .orElseThrow(() -> new IllegalStateException("Answer text not found after a conflicting insert"));
+    }
+
+    private void remember(String text, long id) {
+        if (ids.size() >= maxCachedEntries) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.put(text, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.put(text, id);
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.dto.TopAnswers;
+import com.survey.app.repositories.ResponseSummaryRepository;
+import com.survey.app.util.HeavyHitters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Most frequent answers per question, kept in a {@link HeavyHitters} per question so free-text questions
+ * can be ranked without grouping their answers. A question's sketch is only allocated when its top answers
+ * are first asked for: it is loaded from the question's RESPONSE_SUMMARY rows and then updated after every
+ * committed write. A sketch whose question was answered while it was loading is used for that one request
+ * but not kept, so no committed answer is missed.
+ */
+@Component
+public class AnswerHeavyHitters {
+
+    private final ResponseSummaryRepository responseSummaryRepository;
+    private final int capacity;
+    private final int width;
+    private final int depth;
+    private final ConcurrentMap<Long, HeavyHitters> questions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public AnswerHeavyHitters(ResponseSummaryRepository responseSummaryRepository,
+                              @Value("${survey.top-answers.capacity:100}") int capacity,
+                              @Value("${survey.top-answers.sketch-width:1024}") int width,
+                              @Value("${survey.top-answers.sketch-depth:4}") int depth) {
+        this.responseSummaryRepository = responseSummaryRepository;
+        this.capacity = capacity;
+        this.width = width;
+        this.depth = depth;
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(DoneSurveysRecordedEvent event) {
+        for (DoneSurveysRecordedEvent.RecordedAnswer answer : event.getAnswers()) {
+            if (answer.getAnswerText() != null) {
+                // counted before the sketch is looked up, so a sketch loading concurrently is not kept
+                generations.merge(answer.getQuestionId(), 1L, Long::sum);
+                questions.computeIfPresent(answer.getQuestionId(), (id, heavyHitters) -> {
+                    heavyHitters.add(answer.getAnswerText(), 1);
+                    return heavyHitters;
+                });
+            }
+        }
+    }
+
+    /**
+     * @param questionId The question.
+     * @param limit      Maximum number of answers, at most the configured capacity.
+     * @return The most frequent answers of the question.
+     */
+    public TopAnswers getTopAnswers(long questionId, int limit) {
+        HeavyHitters heavyHitters = questions.get(questionId);
+        if (heavyHitters == null) {
+            heavyHitters = load(questionId);
+        }
+        return new TopAnswers(questionId, heavyHitters.getTotal(), heavyHitters.getErrorBound(), heavyHitters.top(limit));
+    }
+
+    private HeavyHitters load(long questionId) {
+        long generation = generations.getOrDefault(questionId, 0L);
+        HeavyHitters loaded = new HeavyHitters(capacity, width, depth);
+        for (AnswerCount count : responseSummaryRepository.findCountsByQuestionId(questionId)) {
+            loaded.add(count.getAnswerText(), count.getCount());
+        }
+        HeavyHitters kept = questions.compute(questionId, (id, current) -> current != null ? current
+                : generations.getOrDefault(questionId, 0L) == generation ? loaded : null);
+        return kept != null ? kept : loaded;
+    }
+}
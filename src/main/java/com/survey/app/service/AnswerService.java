@@ -8,6 +8,7 @@ public interface AnswerService {
     PossibleAnswer createAnswer(PossibleAnswer PossibleAnswer);
     PossibleAnswer updateAnswer(long id, PossibleAnswer PossibleAnswer);
     PossibleAnswer getAnswerById(long id);
+    String getAnswerETag(long id);
     List<PossibleAnswer> getAllAnswer();
     void deleteAnswer(long id);
 
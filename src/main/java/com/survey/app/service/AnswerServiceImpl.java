@@ -2,8 +2,10 @@ package com.survey.app.service;
 
 import com.survey.app.exceptions.ResourceNotFoundException;
 import com.survey.app.model.PossibleAnswer;
+import com.survey.app.model.Question;
 import com.survey.app.repositories.AnswerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
@@ -17,10 +19,14 @@ public class AnswerServiceImpl implements AnswerService {
     @Autowired
     private AnswerRepository answerRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public PossibleAnswer createAnswer(PossibleAnswer possibleAnswer) {
-        return answerRepository.save(possibleAnswer);
+        PossibleAnswer saved = answerRepository.save(possibleAnswer);
+        eventPublisher.publishEvent(SurveyChangedEvent.any());
+        return saved;
     }
 
     @Override
@@ -33,6 +39,7 @@ public class AnswerServiceImpl implements AnswerService {
             possibleAnswerToUpdate.setText(possibleAnswer.getText());
 //            possibleAnswerToUpdate.setQuestionSet(possibleAnswer.getQuestionSet());
             answerRepository.save(possibleAnswerToUpdate);
+            eventPublisher.publishEvent(SurveyChangedEvent.any());
             return possibleAnswerToUpdate;
         } else {
             throw new ResourceNotFoundException("Record not found with id :" + possibleAnswer.getId());
@@ -49,6 +56,12 @@ public class AnswerServiceImpl implements AnswerService {
         }
     }
 
+    @Override
+    public String getAnswerETag(long id) {
+        return VersionTags.of(answerRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Record not found with id :" + id)));
+    }
+
     @Override
     public List<PossibleAnswer> getAllAnswer() {
         return answerRepository.findAll();
@@ -58,7 +71,13 @@ public class AnswerServiceImpl implements AnswerService {
     public void deleteAnswer(long id) {
         Optional<PossibleAnswer> answerDb = this.answerRepository.findById(id);
         if(answerDb.isPresent()) {
-            this.answerRepository.delete(answerDb.get());
+            PossibleAnswer possibleAnswer = answerDb.get();
+            // unlink both sides, so the cached answer sets of the questions are invalidated with it
+            for (Question question : possibleAnswer.getQuestionSet()) {
+                question.getPossibleAnswerSet().remove(possibleAnswer);
+            }
+            this.answerRepository.delete(possibleAnswer);
+            eventPublisher.publishEvent(SurveyChangedEvent.any());
         } else {
             throw new ResourceNotFoundException("Record not found with id :" + id);
         }
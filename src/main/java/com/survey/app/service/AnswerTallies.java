@@ -0,0 +1,91 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.dto.QuestionTally;
+import com.survey.app.repositories.ResponseSummaryRepository;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-question answer counts, kept in memory as striped {@link LongAdder} counters keyed by
+ * survey, question and answer. Counters are rebuilt from the RESPONSE_SUMMARY table once at startup and then
+ * incremented after every committed write, so reading the results never scans the response table.
+ * Free-text questions are bounded to {@code maxAnswersPerQuestion} distinct answers, further answers are
+ * counted under {@link #OTHER}.
+ */
+@Component
+@Lazy(false)
+public class AnswerTallies implements InitializingBean {
+
+    public static final String OTHER = "(other)";
+
+    private final ResponseSummaryRepository responseSummaryRepository;
+    private final int maxAnswersPerQuestion;
+    private final ConcurrentMap<UUID, ConcurrentMap<Long, ConcurrentMap<String, LongAdder>>> counters = new ConcurrentHashMap<>();
+
+    public AnswerTallies(ResponseSummaryRepository responseSummaryRepository,
+                         @Value("${survey.tallies.max-answers-per-question:1000}") int maxAnswersPerQuestion) {
+        this.responseSummaryRepository = responseSummaryRepository;
+        this.maxAnswersPerQuestion = maxAnswersPerQuestion;
+    }
+
+    /**
+     * Runs before the web server starts, so no answer can be counted twice. This is why the bean is never lazy:
+     * created by the first event it would count the answers of that event twice.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        for (AnswerCount count : responseSummaryRepository.findAllCounts()) {
+            counter(count.getSurveyId(), count.getQuestionId(), count.getAnswerText()).add(count.getCount());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(DoneSurveysRecordedEvent event) {
+        for (DoneSurveysRecordedEvent.RecordedAnswer answer : event.getAnswers()) {
+            if (answer.getAnswerText() != null) {
+                counter(answer.getSurveyId(), answer.getQuestionId(), answer.getAnswerText()).increment();
+            }
+        }
+    }
+
+    /**
+     * @param surveyId The survey.
+     * @return The answer distribution of every answered question, in question id order.
+     */
+    public List<QuestionTally> getTallies(UUID surveyId) {
+        Map<Long, ConcurrentMap<String, LongAdder>> questions = counters.getOrDefault(surveyId, new ConcurrentHashMap<>());
+        List<QuestionTally> tallies = new ArrayList<>(questions.size());
+        for (Map.Entry<Long, ConcurrentMap<String, LongAdder>> question : new TreeMap<>(questions).entrySet()) {
+            Map<String, Long> answers = new LinkedHashMap<>();
+            long total = 0;
+            for (Map.Entry<String, LongAdder> answer : question.getValue().entrySet()) {
+                long count = answer.getValue().sum();
+                answers.put(answer.getKey(), count);
+                total += count;
+            }
+            tallies.add(new QuestionTally(question.getKey(), total, answers));
+        }
+        return tallies;
+    }
+
+    private LongAdder counter(UUID surveyId, long questionId, String answerText) {
+        ConcurrentMap<String, LongAdder> answers = counters
+                .computeIfAbsent(surveyId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(questionId, id -> new ConcurrentHashMap<>());
+        LongAdder counter = answers.get(answerText);
+        if (counter != null) {
+            return counter;
+        }
+        String key = answers.size() < maxAnswersPerQuestion ? answerText : OTHER;
+        return answers.computeIfAbsent(key, k -> new LongAdder());
+    }
+}
@@ -0,0 +1,45 @@
+package com.survey.app.service;
+
+import com.survey.app.CacheConfiguration;
+import com.survey.app.dto.CacheRegionStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads the counters Hibernate keeps for every second-level cache region.
+ */
+@Service
+public class CacheStatsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStats> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Set<String> regions = new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()));
+        List<CacheRegionStats> stats = new ArrayList<>(regions.size() + 1);
+        for (String region : regions) {
+            add(stats, region, statistics.getCacheRegionStatistics(region));
+        }
+        // query results are not listed with the entity and collection regions
+        if (!regions.contains(CacheConfiguration.QUERY_RESULTS)) {
+            add(stats, CacheConfiguration.QUERY_RESULTS, statistics.getQueryRegionStatistics(CacheConfiguration.QUERY_RESULTS));
+        }
+        return stats;
+    }
+
+    private static void add(List<CacheRegionStats> stats, String region, CacheRegionStatistics statistics) {
+        if (statistics != null) {
+            stats.add(new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount()));
+        }
+    }
+}
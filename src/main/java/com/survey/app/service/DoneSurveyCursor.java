@@ -0,0 +1,76 @@
+package com.survey.app.service;
+
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.model.DoneSurvey;
+
+import java.io.*;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a done survey listing after the last row of a page, for keyset pagination.
+ * Rows are listed newest first by the moment they were recorded and then by id, so every position is unique.
+ * Encoded as opaque Base64url text.
+ */
+public class DoneSurveyCursor {
+
+    private static final int VERSION = 1;
+
+    private final Instant recordedAt;
+    private final UUID id;
+
+    private DoneSurveyCursor(Instant recordedAt, UUID id) {
+        this.recordedAt = recordedAt;
+        this.id = id;
+    }
+
+    /**
+     * @param doneSurvey The last row of the page.
+     * @return The cursor of the next page.
+     */
+    public static DoneSurveyCursor after(DoneSurvey doneSurvey) {
+        return new DoneSurveyCursor(doneSurvey.getRecordedAt(), doneSurvey.getId());
+    }
+
+    /**
+     * @param token A token returned by {@link #encode()}.
+     * @return The cursor.
+     * @throws BadRequestException if the token is not a valid cursor.
+     */
+    public static DoneSurveyCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new BadRequestException("Unsupported cursor");
+            }
+            Instant recordedAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            UUID id = new UUID(in.readLong(), in.readLong());
+            return new DoneSurveyCursor(recordedAt, id);
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(recordedAt.getEpochSecond());
+            out.writeInt(recordedAt.getNano());
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
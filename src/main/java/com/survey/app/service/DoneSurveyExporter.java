@@ -0,0 +1,97 @@
+package com.survey.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey.app.dto.DoneSurveyExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes done survey rows as CSV or NDJSON while reading them from a forward-only database cursor.
+ * Rows are written as they arrive and the output is flushed every {@code flushEvery} rows,
+ * so memory use does not depend on the number of exported rows.
+ */
+@Component
+public class DoneSurveyExporter {
+
+    private static final String[] CSV_HEADER = {"id", "surveyId", "title", "creatorName", "submissionId",
+            "respondentName", "questionId", "questionText", "givenAnswer"};
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int flushEvery;
+
+    public DoneSurveyExporter(PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              @Value("${survey.export.flush-every:1000}") int flushEvery) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Streams the rows into {@code out}. The cursor is opened inside its own read-only transaction,
+     * since the export runs on the asynchronous request thread after the controller has returned.
+     *
+     * @param rows   Opens the cursor, called inside the transaction.
+     * @param format The output format.
+     * @param out    The response body.
+     */
+    public void export(Supplier<Stream<DoneSurveyExportRow>> rows, ExportFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<DoneSurveyExportRow> stream = rows.get()) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, (Object[]) CSV_HEADER);
+                }
+                int written = 0;
+                for (DoneSurveyExportRow row : (Iterable<DoneSurveyExportRow>) stream::iterator) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvLine(writer, row.getId(), row.getSurveyId(), row.getTitle(), row.getCreatorName(),
+                                row.getSubmissionId(), row.getRespondentName(), row.getQuestionId(),
+                                row.getQuestionText(), row.getGivenAnswer());
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (++written % flushEvery == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(writer, values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,183 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.IngestStats;
+import com.survey.app.model.DoneSurvey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind queue for done surveys. Accepted submissions are buffered in a bounded queue and a single
+ * writer thread drains them in group commits of up to {@code batchSize} rows, waiting at most
+ * {@code maxLingerMillis} for a batch to fill. The queue is drained completely when the application stops.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.ingest.async.enabled", havingValue = "true")
+public class DoneSurveyIngestQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DoneSurveyIngestQueue.class);
+
+    private final DoneSurveyWriter doneSurveyWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<List<DoneSurvey>> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long maxLingerMillis;
+    private final long shutdownTimeoutMillis;
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder rowsFailed = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public DoneSurveyIngestQueue(DoneSurveyWriter doneSurveyWriter,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${survey.ingest.async.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${survey.ingest.async.batch-size:500}") int batchSize,
+                                 @Value("${survey.ingest.async.max-linger-ms:20}") long maxLingerMillis,
+                                 @Value("${survey.ingest.async.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        this.doneSurveyWriter = doneSurveyWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.maxLingerMillis = maxLingerMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * Queues one submission. The rows must already carry their ids and respondent name,
+     * since the writer thread has no access to the caller's security context.
+     *
+     * @param submission The rows of one submission.
+     * @return false if the queue is full or the application is shutting down.
+     */
+    public boolean offer(List<DoneSurvey> submission) {
+        return running && queue.offer(submission);
+    }
+
+    public IngestStats getStats() {
+        long commitCount = commits.sum();
+        double average = commitCount == 0 ? 0 : commitNanos.sum() / (double) commitCount / 1_000_000;
+        return new IngestStats(queue.size(), queueCapacity, commitCount, rowsWritten.sum(), rowsFailed.sum(),
+                average, maxCommitNanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "done-survey-writer");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopped with {} submissions still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so requests still in flight can enqueue before the final drain.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2;
+    }
+
+    private void drain() {
+        List<List<DoneSurvey>> submissions = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                List<DoneSurvey> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                submissions.add(first);
+                int rows = first.size();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+                while (rows < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    List<DoneSurvey> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    submissions.add(next);
+                    rows += next.size();
+                }
+                write(submissions);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                submissions.clear();
+            }
+        }
+    }
+
+    private void write(List<List<DoneSurvey>> submissions) {
+        int rows = submissions.stream().mapToInt(List::size).sum();
+        try {
+            commit(submissions);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} rows failed, retrying submissions one by one", rows, e);
+            for (List<DoneSurvey> submission : submissions) {
+                // the failed transaction already linked the rows and seeded their versions, undo that before retrying
+                submission.forEach(DoneSurveyIngestQueue::reset);
+                try {
+                    commit(Collections.singletonList(submission));
+                } catch (RuntimeException ex) {
+                    rowsFailed.add(submission.size());
+                    log.error("Dropping submission of {} rows", submission.size(), ex);
+                }
+            }
+        }
+    }
+
+    private void commit(List<List<DoneSurvey>> submissions) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> submissions.forEach(doneSurveyWriter::write));
+        long elapsed = System.nanoTime() - start;
+        commits.increment();
+        rowsWritten.add(submissions.stream().mapToInt(List::size).sum());
+        commitNanos.add(elapsed);
+        maxCommitNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private static void reset(DoneSurvey row) {
+        row.setVersion(null);
+        row.setSubmission(null);
+        row.setQuestion(null);
+        row.setAnswer(null);
+        row.setRecordedAt(null);
+    }
+}
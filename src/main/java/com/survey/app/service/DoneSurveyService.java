@@ -1,14 +1,34 @@
 package com.survey.app.service;
 
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.dto.DistinctCount;
+import com.survey.app.dto.IngestStats;
+import com.survey.app.dto.KeysetPage;
+import com.survey.app.dto.QuestionTally;
+import com.survey.app.dto.TopAnswers;
 import com.survey.app.model.DoneSurvey;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 public interface DoneSurveyService {
 
     DoneSurvey createDoneSurvey(DoneSurvey doneSurvey);
+    List<DoneSurvey> createDoneSurveys(List<DoneSurvey> doneSurveys);
+    List<UUID> submitDoneSurveys(List<DoneSurvey> doneSurveys);
+    IngestStats getIngestStats();
+    StreamingResponseBody exportDoneSurveys(UUID surveyId, ExportFormat format);
+    List<QuestionTally> getResults(UUID surveyId);
+    List<AnswerCount> getSummary(UUID surveyId);
+    DistinctCount countRespondentsBySurvey(UUID surveyId);
+    DistinctCount countRespondentsByCreator(String creatorName);
+    DistinctCount countRespondentsByDays(LocalDate from, LocalDate to);
+    TopAnswers getTopAnswers(long questionId, int limit);
     DoneSurvey getDoneSurveyById(UUID id);
     List<DoneSurvey> getAllDoneSurvey();
+    KeysetPage<DoneSurvey> getDoneSurveyPage(String cursor, int size);
 
 }
@@ -1,16 +1,33 @@
 package com.survey.app.service;
 
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.dto.DistinctCount;
+import com.survey.app.dto.IngestStats;
+import com.survey.app.dto.KeysetPage;
+import com.survey.app.dto.QuestionTally;
+import com.survey.app.dto.TopAnswers;
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.exceptions.IngestRejectedException;
 import com.survey.app.exceptions.ResourceNotFoundException;
 import com.survey.app.model.DoneSurvey;
+import com.survey.app.model.id.UuidStrategy;
 import com.survey.app.repositories.DoneSurveyRepository;
+import com.survey.app.repositories.ResponseSummaryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,13 +36,95 @@ import java.util.UUID;
 @Transactional
 public class DoneSurveyServiceImpl implements DoneSurveyService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private DoneSurveyRepository doneSurveyRepository;
 
+    @Autowired
+    private DoneSurveyWriter doneSurveyWriter;
+
+    @Autowired
+    private DoneSurveyExporter doneSurveyExporter;
+
+    @Autowired
+    private AnswerTallies answerTallies;
+
+    @Autowired
+    private ResponseSummaryRepository responseSummaryRepository;
+
+    @Autowired
+    private RespondentSketches respondentSketches;
+
+    @Autowired
+    private AnswerHeavyHitters answerHeavyHitters;
+
+    @Autowired
+    private SurveyAccess surveyAccess;
+
+    @Autowired(required = false)
+    private DoneSurveyIngestQueue ingestQueue;
+
+    private UuidStrategy uuidStrategy;
+
+    @Value("${" + UuidStrategy.SETTING + ":time-ordered}")
+    void setUuidStrategy(String uuidStrategy) {
+        this.uuidStrategy = UuidStrategy.fromValue(uuidStrategy);
+    }
+
     @Override
     public DoneSurvey createDoneSurvey(DoneSurvey doneSurvey) {
+        doneSurvey.setId(null);
         doneSurvey.setRespondentName(getCurrentUserName());
-        return doneSurveyRepository.save(doneSurvey);
+        return doneSurveyWriter.write(Collections.singletonList(doneSurvey)).get(0);
+    }
+
+    /**
+     * Persists a whole submission in a single transaction. The ids are cleared so every row
+     * goes through persist rather than merge, which lets Hibernate group the inserts into JDBC batches.
+     */
+    @Override
+    public List<DoneSurvey> createDoneSurveys(List<DoneSurvey> doneSurveys) {
+        String respondentName = getCurrentUserName();
+        for (DoneSurvey doneSurvey : doneSurveys) {
+            doneSurvey.setId(null);
+            doneSurvey.setRespondentName(respondentName);
+        }
+        return doneSurveyWriter.write(doneSurveys);
+    }
+
+    /**
+     * Hands a submission to the write-behind queue when asynchronous ingestion is enabled,
+     * otherwise writes it synchronously. The ids are assigned here so they can be returned before the rows exist;
+     * a queued submission whose survey or questions cannot be resolved is dropped and counted as failed.
+     */
+    @Override
+    public List<UUID> submitDoneSurveys(List<DoneSurvey> doneSurveys) {
+        if (ingestQueue == null) {
+            List<UUID> ids = new ArrayList<>();
+            createDoneSurveys(doneSurveys).forEach(doneSurvey -> ids.add(doneSurvey.getId()));
+            return ids;
+        }
+        String respondentName = getCurrentUserName();
+        List<UUID> ids = new ArrayList<>();
+        for (DoneSurvey doneSurvey : doneSurveys) {
+            doneSurvey.setId(uuidStrategy.next());
+            doneSurvey.setVersion(null);
+            doneSurvey.setRespondentName(respondentName);
+            ids.add(doneSurvey.getId());
+        }
+        if (!ingestQueue.offer(doneSurveys)) {
+            throw new IngestRejectedException("The ingestion queue is full, please retry later");
+        }
+        return ids;
+    }
+
+    @Override
+    public IngestStats getIngestStats() {
+        if (ingestQueue == null) {
+            throw new ResourceNotFoundException("Asynchronous ingestion is not enabled");
+        }
+        return ingestQueue.getStats();
     }
 
     @Override
@@ -50,6 +149,98 @@ public class DoneSurveyServiceImpl implements DoneSurveyService {
         throw new UsernameNotFoundException("There is a problem with your account!");
     }
 
+    /**
+     * Same rows as {@link #getAllDoneSurvey()}, newest first, one page at a time.
+     * Reads one row more than the page size to learn whether a next page exists.
+     */
+    @Override
+    public KeysetPage<DoneSurvey> getDoneSurveyPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        DoneSurveyCursor after = cursor != null ? DoneSurveyCursor.decode(cursor) : null;
+        String userName = getCurrentUserName();
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<DoneSurvey> doneSurveys;
+        if (isCoordinator()) {
+            doneSurveys = after == null
+                    ? doneSurveyRepository.findPageByCreatorName(userName, limit)
+                    : doneSurveyRepository.findPageByCreatorNameAfter(userName, after.getRecordedAt(), after.getId(), limit);
+        } else if (isRespondent()) {
+            doneSurveys = after == null
+                    ? doneSurveyRepository.findPageByRespondentName(userName, limit)
+                    : doneSurveyRepository.findPageByRespondentNameAfter(userName, after.getRecordedAt(), after.getId(), limit);
+        } else {
+            throw new UsernameNotFoundException("There is a problem with your account!");
+        }
+        String next = null;
+        if (doneSurveys.size() > size) {
+            doneSurveys = doneSurveys.subList(0, size);
+            next = DoneSurveyCursor.after(doneSurveys.get(size - 1)).encode();
+        }
+        return new KeysetPage<>(new ArrayList<>(doneSurveys), next, null);
+    }
+
+
+    /**
+     * Resolves the caller before returning, because the body is written later on the asynchronous request thread.
+     */
+    @Override
+    public StreamingResponseBody exportDoneSurveys(UUID surveyId, ExportFormat format) {
+        String userName = getCurrentUserName();
+        if (isCoordinator()) {
+            if (surveyId != null) {
+                return out -> doneSurveyExporter.export(
+                        () -> doneSurveyRepository.streamBySurveyAndCreatorName(surveyId, userName), format, out);
+            }
+            return out -> doneSurveyExporter.export(
+                    () -> doneSurveyRepository.streamByCreatorName(userName), format, out);
+        }
+        if (isRespondent()) {
+            return out -> doneSurveyExporter.export(
+                    () -> doneSurveyRepository.streamByRespondentName(userName), format, out);
+        }
+        throw new UsernameNotFoundException("There is a problem with your account!");
+    }
+
+    /*
+     * The reports below are read by coordinators, each one only about the surveys they created.
+     */
+
+    @Override
+    public List<QuestionTally> getResults(UUID surveyId) {
+        surveyAccess.checkSurvey(surveyId);
+        return answerTallies.getTallies(surveyId);
+    }
+
+    @Override
+    public List<AnswerCount> getSummary(UUID surveyId) {
+        surveyAccess.checkSurvey(surveyId);
+        return responseSummaryRepository.findCountsBySurveyId(surveyId);
+    }
+
+    @Override
+    public DistinctCount countRespondentsBySurvey(UUID surveyId) {
+        surveyAccess.checkSurvey(surveyId);
+        return respondentSketches.count(RespondentSketches.surveyKey(surveyId));
+    }
+
+    @Override
+    public DistinctCount countRespondentsByCreator(String creatorName) {
+        surveyAccess.checkCreator(creatorName);
+        return respondentSketches.count(RespondentSketches.creatorKey(creatorName));
+    }
+
+    @Override
+    public DistinctCount countRespondentsByDays(LocalDate from, LocalDate to) {
+        return respondentSketches.countDays(getCurrentUserName(), from, to != null ? to : from);
+    }
+
+    @Override
+    public TopAnswers getTopAnswers(long questionId, int limit) {
+        surveyAccess.checkQuestion(questionId);
+        return answerHeavyHitters.getTopAnswers(questionId, limit);
+    }
 
     private String getCurrentUserName(){
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -0,0 +1,182 @@
+package com.survey.app.service;
+
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.exceptions.ResourceNotFoundException;
+import com.survey.app.model.AnswerText;
+import com.survey.app.model.DoneSurvey;
+import com.survey.app.model.Question;
+import com.survey.app.model.Submission;
+import com.survey.app.model.Survey;
+import com.survey.app.repositories.DoneSurveyRepository;
+import com.survey.app.repositories.QuestionRepository;
+import com.survey.app.repositories.SubmissionRepository;
+import com.survey.app.repositories.SurveyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Turns incoming done survey rows into the normalized storage model: rows are grouped into one
+ * {@link Submission} per respondent and survey, linked to their {@link Question} by id and their
+ * given answer is interned through the {@link AnswerDictionary}.
+ * Every write path (single, batch and asynchronous) goes through this class, which publishes a
+ * {@link DoneSurveysRecordedEvent} for the derived views of the answers.
+ */
+@Component
+public class DoneSurveyWriter {
+
+    @Autowired
+    private DoneSurveyRepository doneSurveyRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private SurveyRepository surveyRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerDictionary answerDictionary;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Writes the rows of one or more submissions. The rows must already carry the respondent name.
+     * Rows without a {@code submissionId} are grouped into one new submission per respondent and survey,
+     * so every call records each respondent's answers to a survey as a single submission.
+     *
+     * @param rows The incoming rows, identifying survey and question by id or by text.
+     * @return The stored rows.
+     * @throws ResourceNotFoundException When a survey, question or submission cannot be resolved.
+     * @throws BadRequestException When a question does not belong to the survey of its row.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public List<DoneSurvey> write(List<DoneSurvey> rows) {
+        Map<String, Survey> surveys = new HashMap<>();
+        Map<String, Submission> submissions = new HashMap<>();
+        Map<Long, Question> questions = loadQuestions(rows);
+        Map<UUID, Map<String, Question>> questionsByText = new HashMap<>();
+        Map<String, AnswerText> answers = internAnswers(rows);
+        List<DoneSurveysRecordedEvent.RecordedAnswer> recorded = new ArrayList<>(rows.size());
+        // the column keeps microseconds, so a cursor built from the written value still matches the stored one
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        for (DoneSurvey row : rows) {
+            Survey survey = resolveSurvey(row, surveys);
+            String submissionKey = row.getSubmissionId() != null
+                    ? row.getSubmissionId().toString()
+                    : row.getRespondentName() + '\u0000' + survey.getId();
+            Submission submission = submissions.computeIfAbsent(submissionKey, key -> resolveSubmission(row, survey, now));
+            Question question = resolveQuestion(row, survey, questions, questionsByText);
+            String givenAnswer = row.getGivenAnswer();
+
+            AnswerText answer = givenAnswer != null ? answers.get(givenAnswer) : null;
+
+            row.setSubmission(submission);
+            row.setQuestion(question);
+            row.setAnswer(answer);
+            row.setRecordedAt(now);
+            recorded.add(new DoneSurveysRecordedEvent.RecordedAnswer(survey.getId(), survey.getCreatorName(),
+                    submission.getId(), submission.getRespondentName(), question.getId(),
+                    answer != null ? answer.getId() : null, givenAnswer, now));
+        }
+        List<DoneSurvey> saved = doneSurveyRepository.saveAll(rows);
+        eventPublisher.publishEvent(new DoneSurveysRecordedEvent(recorded));
+        return saved;
+    }
+
+    private Map<Long, Question> loadQuestions(List<DoneSurvey> rows) {
+        Set<Long> ids = new HashSet<>();
+        for (DoneSurvey row : rows) {
+            if (row.getQuestionId() != null) {
+                ids.add(row.getQuestionId());
+            }
+        }
+        Map<Long, Question> questions = new HashMap<>();
+        for (Question question : questionRepository.findAllById(ids)) {
+            questions.put(question.getId(), question);
+        }
+        return questions;
+    }
+
+    /**
+     * Interns the given answers in text order, so writers of the same new texts wait for each other
+     * instead of deadlocking.
+     */
+    private Map<String, AnswerText> internAnswers(List<DoneSurvey> rows) {
+        Set<String> texts = new TreeSet<>();
+        for (DoneSurvey row : rows) {
+            if (row.getGivenAnswer() != null) {
+                texts.add(row.getGivenAnswer());
+            }
+        }
+        Map<String, AnswerText> answers = new HashMap<>();
+        for (String text : texts) {
+            answers.put(text, answerDictionary.intern(text));
+        }
+        return answers;
+    }
+
+    private Survey resolveSurvey(DoneSurvey row, Map<String, Survey> surveys) {
+        if (row.getSurveyId() != null) {
+            return surveys.computeIfAbsent(row.getSurveyId().toString(), key -> surveyRepository.findById(row.getSurveyId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Survey not found with id:" + row.getSurveyId())));
+        }
+        String key = row.getTitle() + '\u0000' + row.getCreatorName();
+        return surveys.computeIfAbsent(key, k -> surveyRepository.findFirstByTitleAndCreatorName(row.getTitle(), row.getCreatorName())
+                .orElseThrow(() -> new ResourceNotFoundException("Survey not found with title:" + row.getTitle())));
+    }
+
+    private Submission resolveSubmission(DoneSurvey row, Survey survey, Instant now) {
+        if (row.getSubmissionId() != null) {
+            Submission submission = submissionRepository.findById(row.getSubmissionId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Submission not found with id:" + row.getSubmissionId()));
+            if (!Objects.equals(submission.getRespondentName(), row.getRespondentName())
+                    || !submission.getSurvey().getId().equals(survey.getId())) {
+                throw new ResourceNotFoundException("Submission not found with id:" + row.getSubmissionId());
+            }
+            return submission;
+        }
+        return submissionRepository.save(new Submission(survey, row.getRespondentName(), now));
+    }
+
+    /**
+     * Rows naming their question by text are matched against the questions of their survey, which are loaded
+     * once per survey; the first question with the text wins.
+     */
+    private Question resolveQuestion(DoneSurvey row, Survey survey, Map<Long, Question> questions,
+                                     Map<UUID, Map<String, Question>> questionsByText) {
+        if (row.getQuestionId() != null) {
+            Question question = questions.get(row.getQuestionId());
+            if (question == null) {
+                throw new ResourceNotFoundException("Question not found with id:" + row.getQuestionId());
+            }
+            if (question.getSurvey() == null || !survey.getId().equals(question.getSurvey().getId())) {
+                throw new BadRequestException("Question " + row.getQuestionId() + " does not belong to survey " + survey.getId());
+            }
+            return question;
+        }
+        Question question = questionsByText.computeIfAbsent(survey.getId(), id -> loadQuestionsByText(survey))
+                .get(row.getQuestionText());
+        if (question == null) {
+            throw new ResourceNotFoundException("Question not found with text:" + row.getQuestionText());
+        }
+        return question;
+    }
+
+    private Map<String, Question> loadQuestionsByText(Survey survey) {
+        Map<String, Question> questions = new HashMap<>();
+        for (Question question : questionRepository.findBySurveyOrderById(survey)) {
+            questions.putIfAbsent(question.getQuestionText(), question);
+        }
+        return questions;
+    }
+}
@@ -0,0 +1,82 @@
+package com.survey.app.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link DoneSurveyWriter} inside the writing transaction.
+ * Listeners that keep derived state should use {@code @TransactionalEventListener} so they only see committed answers.
+ */
+public class DoneSurveysRecordedEvent {
+
+    private final List<RecordedAnswer> answers;
+
+    public DoneSurveysRecordedEvent(List<RecordedAnswer> answers) {
+        this.answers = Collections.unmodifiableList(answers);
+    }
+
+    public List<RecordedAnswer> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * Immutable copy of one stored answer, safe to read after the transaction has ended.
+     */
+    public static class RecordedAnswer {
+
+        private final UUID surveyId;
+        private final String creatorName;
+        private final UUID submissionId;
+        private final String respondentName;
+        private final long questionId;
+        private final Long answerTextId;
+        private final String answerText;
+        private final Instant recordedAt;
+
+        public RecordedAnswer(UUID surveyId, String creatorName, UUID submissionId, String respondentName,
+                              long questionId, Long answerTextId, String answerText, Instant recordedAt) {
+            this.surveyId = surveyId;
+            this.creatorName = creatorName;
+            this.submissionId = submissionId;
+            this.respondentName = respondentName;
+            this.questionId = questionId;
+            this.answerTextId = answerTextId;
+            this.answerText = answerText;
+            this.recordedAt = recordedAt;
+        }
+
+        public UUID getSurveyId() {
+            return surveyId;
+        }
+
+        public String getCreatorName() {
+            return creatorName;
+        }
+
+        public UUID getSubmissionId() {
+            return submissionId;
+        }
+
+        public String getRespondentName() {
+            return respondentName;
+        }
+
+        public long getQuestionId() {
+            return questionId;
+        }
+
+        public Long getAnswerTextId() {
+            return answerTextId;
+        }
+
+        public String getAnswerText() {
+            return answerText;
+        }
+
+        public Instant getRecordedAt() {
+            return recordedAt;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.PossibleAnswerView;
+import com.survey.app.dto.QuestionView;
+import com.survey.app.dto.SurveyView;
+import io.r2dbc.spi.Row;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Reads the open surveys with their questions and possible answers through R2DBC. One query returns a row per
+ * possible answer, ordered by survey, question and answer, and the consecutive rows of a survey are folded into
+ * its {@link SurveyView}. A survey is emitted once its last row is read. Rows are read ahead of the subscriber's
+ * demand only by the prefetch of the operators, so a slow client holds back the query instead of filling the memory.
+ */
+@Component
+@ConditionalOnProperty(name = "survey.reactive.enabled", havingValue = "true")
+public class OpenSurveyReader {
+
+    private static final String OPEN_SURVEY_ROWS =
+            "select s.id survey_id, s.title survey_title, s.creatorName, q.question_id, q.title question_title, " +
+            "q.question_text, q.required, q.difficulty, q.category, q.customAnswer, a.id answer_id, a.text answer_text " +
+            "from SURVEY s " +
+            "left join question q on q.survey_id = s.id " +
+            "left join questions_possible_answers qa on qa.question_id = q.question_id " +
+            "left join POSSIBLE_ANSWER a on a.id = qa.possible_answer_id " +
+            "where s.open = true " +
+            "order by s.id, q.question_id, a.id";
+
+    private final DatabaseClient databaseClient;
+
+    public OpenSurveyReader(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    /**
+     * @return The open surveys in id order, with their questions and possible answers ordered by id.
+     * The views carry no entity tag.
+     */
+    public Flux<SurveyView> streamOpenSurveys() {
+        return databaseClient.sql(OPEN_SURVEY_ROWS)
+                .map((row, metadata) -> new SurveyRow(row))
+                .all()
+                .bufferUntilChanged(row -> row.surveyId)
+                .map(OpenSurveyReader::toView);
+    }
+
+    private static SurveyView toView(List<SurveyRow> rows) {
+        SurveyRow first = rows.get(0);
+        Map<Long, List<SurveyRow>> questions = new LinkedHashMap<>();
+        for (SurveyRow row : rows) {
+            if (row.questionId != null) {
+                questions.computeIfAbsent(row.questionId, id -> new ArrayList<>()).add(row);
+            }
+        }
+        List<QuestionView> questionViews = new ArrayList<>(questions.size());
+        for (List<SurveyRow> questionRows : questions.values()) {
+            SurveyRow question = questionRows.get(0);
+            List<PossibleAnswerView> answers = new ArrayList<>(questionRows.size());
+            for (SurveyRow row : questionRows) {
+                if (row.answerId != null) {
+                    answers.add(new PossibleAnswerView(row.answerId, row.answerText));
+                }
+            }
+            questionViews.add(new QuestionView(question.questionId, question.questionTitle, question.questionText,
+                    question.required, question.difficulty, question.category, question.customAnswer, answers));
+        }
+        return new SurveyView(first.surveyId, first.surveyTitle, true, first.creatorName, questionViews, null);
+    }
+
+    /**
+     * One row of the query, copied out of the driver's row, which is only valid inside the mapping function.
+     */
+    private static final class SurveyRow {
+
+        private final UUID surveyId;
+        private final String surveyTitle;
+        private final String creatorName;
+        private final Long questionId;
+        private final String questionTitle;
+        private final String questionText;
+        private final boolean required;
+        private final String difficulty;
+        private final String category;
+        private final String customAnswer;
+        private final Long answerId;
+        private final String answerText;
+
+        private SurveyRow(Row row) {
+            this.surveyId = toUuid(row.get("survey_id", byte[].class));
+            this.surveyTitle = row.get("survey_title", String.class);
+            this.creatorName = row.get("creatorName", String.class);
+            this.questionId = row.get("question_id", Long.class);
+            this.questionTitle = row.get("question_title", String.class);
+            this.questionText = row.get("question_text", String.class);
+            this.required = Boolean.TRUE.equals(row.get("required", Boolean.class));
+            this.difficulty = row.get("difficulty", String.class);
+            this.category = row.get("category", String.class);
+            this.customAnswer = row.get("customAnswer", String.class);
+            this.answerId = row.get("answer_id", Long.class);
+            this.answerText = row.get("answer_text", String.class);
+        }
+
+        /**
+         * Hibernate stores a UUID as its 16 bytes, most significant first.
+         */
+        private static UUID toUuid(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+    }
+}
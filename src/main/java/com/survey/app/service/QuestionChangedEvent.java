@@ -0,0 +1,61 @@
+package com.survey.app.service;
+
+import com.survey.app.model.Question;
+
+/**
+ * Published by {@link QuestionServiceImpl} and {@link QuestionImporter} inside the transaction that creates,
+ * updates or deletes a question.
+ * Listeners that keep derived state should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class QuestionChangedEvent {
+
+    private final long questionId;
+    private final String title;
+    private final String questionText;
+    private final String category;
+    private final String difficulty;
+    private final boolean deleted;
+
+    private QuestionChangedEvent(long questionId, String title, String questionText, String category,
+                                 String difficulty, boolean deleted) {
+        this.questionId = questionId;
+        this.title = title;
+        this.questionText = questionText;
+        this.category = category;
+        this.difficulty = difficulty;
+        this.deleted = deleted;
+    }
+
+    public static QuestionChangedEvent saved(Question question) {
+        return new QuestionChangedEvent(question.getId(), question.getTitle(), question.getQuestionText(),
+                question.getCategory(), question.getDifficulty(), false);
+    }
+
+    public static QuestionChangedEvent deleted(long questionId) {
+        return new QuestionChangedEvent(questionId, null, null, null, null, true);
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
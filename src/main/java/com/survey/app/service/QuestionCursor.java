@@ -0,0 +1,89 @@
+package com.survey.app.service;
+
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.model.Question;
+
+import java.io.*;
+import java.util.Base64;
+
+/**
+ * Position in the question bank after the last question of a page, for keyset pagination.
+ * Encoded as opaque Base64url text holding the sort order and the sort key of that question.
+ */
+public class QuestionCursor {
+
+    /**
+     * The orders the question bank can be paged in. Both end with the id, so every position is unique.
+     */
+    public enum Sort {
+        ID, CATEGORY
+    }
+
+    private static final int VERSION = 1;
+
+    private final Sort sort;
+    private final String category;
+    private final long id;
+
+    private QuestionCursor(Sort sort, String category, long id) {
+        this.sort = sort;
+        this.category = category;
+        this.id = id;
+    }
+
+    /**
+     * @param sort     The order being paged in.
+     * @param question The last question of the page.
+     * @return The cursor of the next page.
+     */
+    public static QuestionCursor after(Sort sort, Question question) {
+        return new QuestionCursor(sort, sort == Sort.CATEGORY ? question.getCategory() : null, question.getId());
+    }
+
+    /**
+     * @param token A token returned by {@link #encode()}.
+     * @return The cursor.
+     * @throws BadRequestException if the token is not a valid cursor.
+     */
+    public static QuestionCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new BadRequestException("Unsupported cursor");
+            }
+            Sort sort = Sort.values()[in.readByte()];
+            long id = in.readLong();
+            String category = in.readBoolean() ? in.readUTF() : null;
+            return new QuestionCursor(sort, category, id);
+        } catch (IOException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(sort.ordinal());
+            out.writeLong(id);
+            out.writeBoolean(category != null);
+            if (category != null) {
+                out.writeUTF(category);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
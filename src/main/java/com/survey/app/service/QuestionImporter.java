@@ -0,0 +1,234 @@
+package com.survey.app.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.survey.app.dto.ImportError;
+import com.survey.app.dto.QuestionImportItem;
+import com.survey.app.dto.QuestionImportReport;
+import com.survey.app.model.PossibleAnswer;
+import com.survey.app.model.Question;
+import com.survey.app.repositories.AnswerRepository;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Imports questions with their possible answers from a JSON array or an NDJSON stream.
+ * Items are read one at a time and stored in chunks of {@code chunkSize}, each in its own transaction,
+ * so the ids come from the pooled sequences and the inserts go out in JDBC batches.
+ * An item that cannot be stored is reported with its position and does not stop the import.
+ */
+@Component
+public class QuestionImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionImporter.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final AnswerRepository answerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public QuestionImporter(ObjectMapper objectMapper,
+                            AnswerRepository answerRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${survey.import.chunk-size:1000}") int chunkSize,
+                            @Value("${survey.import.max-errors:1000}") int maxErrors) {
+        this.objectMapper = objectMapper;
+        this.answerRepository = answerRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Reads and stores the questions. Malformed input stops the import, the chunks stored before stay stored.
+     *
+     * @param in A JSON array of questions or one question per line.
+     * @return The number of stored questions and the items that were not stored.
+     */
+    public QuestionImportReport importQuestions(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        boolean complete = true;
+        try (MappingIterator<QuestionImportItem> items = objectMapper.readerFor(QuestionImportItem.class).readValues(in)) {
+            while (true) {
+                long index = progress.received;
+                QuestionImportItem item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonParseException e) {
+                    progress.fail(index, "Malformed input: " + e.getOriginalMessage());
+                    complete = false;
+                    break;
+                } catch (JsonMappingException e) {
+                    // the iterator skips the rest of the item and continues with the next one
+                    progress.received++;
+                    progress.fail(index, e.getOriginalMessage());
+                    continue;
+                }
+                progress.received++;
+                String invalid = validate(item);
+                if (invalid != null) {
+                    progress.fail(index, invalid);
+                    continue;
+                }
+                chunk.add(new Pending(index, item));
+                if (chunk.size() == chunkSize) {
+                    store(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            store(chunk, progress);
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new QuestionImportReport(progress.received, progress.imported, progress.failed, progress.errors,
+                complete, elapsed);
+    }
+
+    private static String validate(QuestionImportItem item) {
+        if (item == null) {
+            return "Empty item";
+        }
+        if (item.getQuestionText() == null || item.getQuestionText().isBlank()) {
+            return "questionText is required";
+        }
+        for (String answer : item.getAnswers()) {
+            if (answer == null || answer.isBlank()) {
+                return "Possible answers must have a text";
+            }
+        }
+        if (item.getAnswerIds().contains(null)) {
+            return "Possible answer ids must not be empty";
+        }
+        return null;
+    }
+
+    private void store(List<Pending> chunk, Progress progress) {
+        List<ImportError> rejected = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk, rejected));
+            progress.imported += chunk.size() - rejected.size();
+            rejected.forEach(progress::fail);
+        } catch (RuntimeException e) {
+            log.warn("Import of {} questions failed, retrying them one by one", chunk.size(), e);
+            for (Pending pending : chunk) {
+                rejected.clear();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(Collections.singletonList(pending), rejected));
+                    progress.imported += 1 - rejected.size();
+                    rejected.forEach(progress::fail);
+                } catch (RuntimeException ex) {
+                    progress.fail(pending.index, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(List<Pending> chunk, List<ImportError> rejected) {
+        // bulk inserts would only fill the second-level cache with entries nobody asked for
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        Map<Long, PossibleAnswer> existing = loadAnswers(chunk);
+        for (Pending pending : chunk) {
+            QuestionImportItem item = pending.item;
+            Set<Long> answerIds = new TreeSet<>(item.getAnswerIds());
+            Set<Long> missing = new TreeSet<>(answerIds);
+            missing.removeAll(existing.keySet());
+            if (!missing.isEmpty()) {
+                rejected.add(new ImportError(pending.index, "Possible answers not found with ids:" + missing));
+                continue;
+            }
+            Question question = new Question(0, item.getTitle(), item.getQuestionText(), item.isRequired(),
+                    item.getDifficulty(), item.getCategory(), item.getCustomAnswer());
+            entityManager.persist(question);
+            for (String text : item.getAnswers()) {
+                PossibleAnswer possibleAnswer = new PossibleAnswer(0, text, new HashSet<>());
+                link(question, possibleAnswer);
+                entityManager.persist(possibleAnswer);
+            }
+            for (Long answerId : answerIds) {
+                link(question, existing.get(answerId));
+            }
+            eventPublisher.publishEvent(QuestionChangedEvent.saved(question));
+        }
+        // with open session in view every chunk of the request shares one persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Map<Long, PossibleAnswer> loadAnswers(List<Pending> chunk) {
+        Set<Long> ids = new HashSet<>();
+        for (Pending pending : chunk) {
+            ids.addAll(pending.item.getAnswerIds());
+        }
+        Map<Long, PossibleAnswer> answers = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (PossibleAnswer possibleAnswer : answerRepository.findAllById(ids)) {
+                answers.put(possibleAnswer.getId(), possibleAnswer);
+            }
+        }
+        return answers;
+    }
+
+    private static void link(Question question, PossibleAnswer possibleAnswer) {
+        possibleAnswer.addQuestion(question);
+        question.getPossibleAnswerSet().add(possibleAnswer);
+    }
+
+    private static final class Pending {
+
+        private final long index;
+        private final QuestionImportItem item;
+
+        private Pending(long index, QuestionImportItem item) {
+            this.index = index;
+            this.item = item;
+        }
+    }
+
+    private final class Progress {
+
+        private long received;
+        private long imported;
+        private long failed;
+        private final List<ImportError> errors = new ArrayList<>();
+
+        private void fail(long index, String message) {
+            fail(new ImportError(index, message));
+        }
+
+        private void fail(ImportError error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AssemblyRequest;
+import com.survey.app.dto.QuestionIndexRow;
+import com.survey.app.exceptions.BadRequestException;
+import com.survey.app.repositories.QuestionRepository;
+import com.survey.app.util.RandomizedIdSet;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Draws random question ids in constant time from {@link RandomizedIdSet} pools: all questions,
+ * per category, per difficulty and per category and difficulty. Built from the database on the first
+ * draw, then kept in step by the {@link QuestionChangedEvent}s of committed changes.
+ * Seeded draws use sorted snapshots of the pools, cached until the next change, so the same seed
+ * gives the same questions regardless of the order the pools were filled in.
+ */
+@Component
+public class QuestionSampler {
+
+    /**
+     * The question attribute a weighted draw is weighted by.
+     */
+    public enum Attribute {
+        CATEGORY, DIFFICULTY
+    }
+
+    private final QuestionRepository questionRepository;
+    private final RandomizedIdSet all = new RandomizedIdSet();
+    private final Map<String, RandomizedIdSet> byCategory = new HashMap<>();
+    private final Map<String, RandomizedIdSet> byDifficulty = new HashMap<>();
+    private final Map<String, RandomizedIdSet> byCategoryAndDifficulty = new HashMap<>();
+    private final Map<Long, String[]> attributes = new HashMap<>();
+    private final ConcurrentMap<String, long[]> snapshots = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+
+    public QuestionSampler(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * @param category   Only questions of this category, any if null.
+     * @param difficulty Only questions of this difficulty, any if null.
+     * @return A uniformly drawn question id, empty if no question matches.
+     */
+    public OptionalLong sample(String category, String difficulty) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return draw(pool(category, difficulty));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Picks a category or difficulty with probability proportional to its weight among those that
+     * have questions, then draws a question of it uniformly.
+     *
+     * @param attribute The attribute the weights apply to.
+     * @param weights   The weight of each value of the attribute; values not listed are never drawn.
+     * @return The drawn question id, empty if no weighted value has questions.
+     */
+    public OptionalLong sampleWeighted(Attribute attribute, Map<String, Double> weights) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            Map<String, RandomizedIdSet> pools = attribute == Attribute.CATEGORY ? byCategory : byDifficulty;
+            double total = 0;
+            for (Map.Entry<String, Double> weight : weights.entrySet()) {
+                if (weight.getValue() > 0 && pools.containsKey(weight.getKey())) {
+                    total += weight.getValue();
+                }
+            }
+            if (total == 0) {
+                return OptionalLong.empty();
+            }
+            double target = ThreadLocalRandom.current().nextDouble(total);
+            RandomizedIdSet chosen = null;
+            for (Map.Entry<String, Double> weight : weights.entrySet()) {
+                if (weight.getValue() > 0 && pools.containsKey(weight.getKey())) {
+                    chosen = pools.get(weight.getKey());
+                    target -= weight.getValue();
+                    if (target < 0) {
+                        break;
+                    }
+                }
+            }
+            return draw(chosen);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Draws the questions of every stratum with Floyd's algorithm, never drawing a question twice.
+     *
+     * @param strata  How many questions to draw with which category and difficulty.
+     * @param seed    Seed of the draw.
+     * @param shuffle Whether to shuffle the drawn ids, otherwise they are grouped by stratum.
+     * @return The drawn question ids.
+     * @throws BadRequestException if a stratum has fewer questions left than requested.
+     */
+    public long[] assemble(List<AssemblyRequest.Stratum> strata, long seed, boolean shuffle) {
+        ensureBuilt();
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Long> drawn = new ArrayList<>();
+        Set<Long> chosen = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (AssemblyRequest.Stratum stratum : strata) {
+                long[] pool = snapshot(stratum.getCategory(), stratum.getDifficulty());
+                int[] excluded = positionsOf(chosen, pool);
+                int available = pool.length - excluded.length;
+                if (stratum.getCount() < 0 || stratum.getCount() > available) {
+                    throw new BadRequestException("Cannot draw " + stratum.getCount() + " questions of category "
+                            + stratum.getCategory() + " and difficulty " + stratum.getDifficulty() + ", " + available + " available");
+                }
+                for (int index : floyd(available, stratum.getCount(), random)) {
+                    long id = pool[skip(index, excluded)];
+                    drawn.add(id);
+                    chosen.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        long[] ids = drawn.stream().mapToLong(Long::longValue).toArray();
+        if (shuffle) {
+            for (int i = ids.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                long id = ids[i];
+                ids[i] = ids[j];
+                ids[j] = id;
+            }
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // until the first draw builds the pools from the database there is nothing to keep in step
+            if (!built) {
+                return;
+            }
+            snapshots.clear();
+            remove(event.getQuestionId());
+            if (!event.isDeleted()) {
+                add(event.getQuestionId(), event.getCategory(), event.getDifficulty());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private RandomizedIdSet pool(String category, String difficulty) {
+        if (category != null && difficulty != null) {
+            return byCategoryAndDifficulty.get(key(category, difficulty));
+        } else if (category != null) {
+            return byCategory.get(category);
+        } else if (difficulty != null) {
+            return byDifficulty.get(difficulty);
+        }
+        return all;
+    }
+
+    /**
+     * Must be called holding the read lock, so the pool cannot change while it is copied.
+     */
+    private long[] snapshot(String category, String difficulty) {
+        String key = (category == null ? "*" : "=" + category) + '\u0000' + (difficulty == null ? "*" : "=" + difficulty);
+        return snapshots.computeIfAbsent(key, k -> {
+            RandomizedIdSet pool = pool(category, difficulty);
+            long[] ids = pool != null ? pool.toArray() : new long[0];
+            Arrays.sort(ids);
+            return ids;
+        });
+    }
+
+    /**
+     * @return The sorted positions in the sorted pool of the ids that are already chosen.
+     */
+    private static int[] positionsOf(Set<Long> chosen, long[] pool) {
+        int[] positions = new int[chosen.size()];
+        int count = 0;
+        for (long id : chosen) {
+            int position = Arrays.binarySearch(pool, id);
+            if (position >= 0) {
+                positions[count++] = position;
+            }
+        }
+        positions = Arrays.copyOf(positions, count);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * @return The position of the index-th pool entry that is not excluded.
+     */
+    private static int skip(int index, int[] excluded) {
+        int position = index;
+        for (int skipped : excluded) {
+            if (skipped > position) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Floyd's algorithm: k distinct indexes below n, uniformly, with k random numbers.
+     */
+    private static Collection<Integer> floyd(int n, int k, SplittableRandom random) {
+        Set<Integer> indexes = new LinkedHashSet<>();
+        for (int j = n - k; j < n; j++) {
+            int index = random.nextInt(j + 1);
+            if (!indexes.add(index)) {
+                indexes.add(j);
+            }
+        }
+        return indexes;
+    }
+
+    private static OptionalLong draw(RandomizedIdSet pool) {
+        if (pool == null || pool.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(pool.sample(ThreadLocalRandom.current()));
+    }
+
+    /**
+     * Holds the write lock while loading, so a change committed meanwhile is applied after the load.
+     */
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+            for (QuestionIndexRow question : questionRepository.findAllIndexRows()) {
+                add(question.getId(), question.getCategory(), question.getDifficulty());
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(long id, String category, String difficulty) {
+        all.add(id);
+        attributes.put(id, new String[]{category, difficulty});
+        if (category != null) {
+            byCategory.computeIfAbsent(category, c -> new RandomizedIdSet()).add(id);
+        }
+        if (difficulty != null) {
+            byDifficulty.computeIfAbsent(difficulty, d -> new RandomizedIdSet()).add(id);
+        }
+        if (category != null && difficulty != null) {
+            byCategoryAndDifficulty.computeIfAbsent(key(category, difficulty), k -> new RandomizedIdSet()).add(id);
+        }
+    }
+
+    private void remove(long id) {
+        String[] previous = attributes.remove(id);
+        if (previous == null) {
+            return;
+        }
+        all.remove(id);
+        removeFrom(byCategory, previous[0], id);
+        removeFrom(byDifficulty, previous[1], id);
+        if (previous[0] != null && previous[1] != null) {
+            removeFrom(byCategoryAndDifficulty, key(previous[0], previous[1]), id);
+        }
+    }
+
+    private static void removeFrom(Map<String, RandomizedIdSet> pools, String key, long id) {
+        RandomizedIdSet pool = key != null ? pools.get(key) : null;
+        if (pool != null && pool.remove(id) && pool.isEmpty()) {
+            pools.remove(key);
+        }
+    }
+
+    private static String key(String category, String difficulty) {
+        return category + '\u0000' + difficulty;
+    }
+}
@@ -0,0 +1,103 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.QuestionIndexRow;
+import com.survey.app.repositories.QuestionRepository;
+import com.survey.app.util.InvertedIndex;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory {@link InvertedIndex} over the title and text of every question, so searches find their
+ * candidates without querying the database. Built from the database on the first search, then kept in
+ * step by the {@link QuestionChangedEvent}s of committed changes.
+ */
+@Component
+public class QuestionSearchIndex {
+
+    public static final int TITLE = 0;
+    public static final int QUESTION_TEXT = 1;
+
+    private static final double TITLE_WEIGHT = 2;
+    private static final double QUESTION_TEXT_WEIGHT = 1;
+
+    private final QuestionRepository questionRepository;
+    private final InvertedIndex index = new InvertedIndex(TITLE_WEIGHT, QUESTION_TEXT_WEIGHT);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+
+    public QuestionSearchIndex(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * @param query The words to find in the title or text.
+     * @param limit Maximum number of ids returned.
+     * @return The ids of the questions containing every word, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        return read(index -> index.search(query, limit));
+    }
+
+    /**
+     * @param text  The text to find, case-insensitive.
+     * @param field {@link #TITLE} or {@link #QUESTION_TEXT}.
+     * @return The ids of the questions whose field contains the text, in ascending order.
+     */
+    public List<Long> containing(String text, int field) {
+        return read(index -> index.containing(text, field));
+    }
+
+    @TransactionalEventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // until the first search builds the index from the database there is nothing to keep in step
+            if (!built) {
+                return;
+            }
+            if (event.isDeleted()) {
+                index.remove(event.getQuestionId());
+            } else {
+                index.put(event.getQuestionId(), event.getTitle(), event.getQuestionText());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<InvertedIndex, T> search) {
+        if (!built) {
+            build();
+        }
+        lock.readLock().lock();
+        try {
+            return search.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Holds the write lock while loading, so a change committed meanwhile is applied after the load.
+     */
+    private void build() {
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+            index.clear();
+            for (QuestionIndexRow question : questionRepository.findAllIndexRows()) {
+                index.put(question.getId(), question.getTitle(), question.getQuestionText());
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.survey.app.service;
 
+import com.survey.app.dto.AssembledQuestions;
+import com.survey.app.dto.AssemblyRequest;
+import com.survey.app.dto.KeysetPage;
+import com.survey.app.dto.QuestionView;
 import com.survey.app.model.Question;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface QuestionService1 {
 
@@ -18,10 +24,24 @@ public interface QuestionService1 {
 
    List<Question> searchQuestionsByTitle(String title);
 
+   List<Question> searchQuestions(String query, int limit);
+
    List<Question> filterQuestionsByDifficulty(String difficulty);
 
    Question getRandomQuestion();
 
+   Question getRandomQuestion(String category, String difficulty);
+
+   Question getWeightedRandomQuestion(QuestionSampler.Attribute attribute, Map<String, Double> weights);
+
+   AssembledQuestions assembleQuestions(AssemblyRequest request);
+
+   KeysetPage<QuestionView> getQuestionPage(QuestionCursor.Sort sort, String cursor, int size, boolean includeTotal);
+
+   String getQuestionETag(long id);
+
+   QuestionView attachAnswers(long id, Collection<Long> answerIds);
+
    Long getQuestionsCount();
 
    List<Question> getQuestionsByCategory(String category);
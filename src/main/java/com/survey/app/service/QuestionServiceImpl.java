@@ -1,35 +1,74 @@
 package com.survey.app.service;
 
+import com.survey.app.dto.AssembledQuestions;
+import com.survey.app.dto.AssemblyRequest;
+import com.survey.app.dto.KeysetPage;
+import com.survey.app.dto.PossibleAnswerView;
+import com.survey.app.dto.QuestionAnswerRow;
+import com.survey.app.dto.QuestionView;
+import com.survey.app.dto.VersionRow;
+import com.survey.app.exceptions.BadRequestException;
 import com.survey.app.exceptions.ResourceNotFoundException;
 import com.survey.app.model.PossibleAnswer;
 import com.survey.app.model.Question;
 import com.survey.app.repositories.AnswerRepository;
+import com.survey.app.repositories.QuestionRepo;
 import com.survey.app.repositories.QuestionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @Transactional
 public class QuestionServiceImpl implements QuestionService1 {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private QuestionRepo questionRepo;
+
     @Autowired
     private AnswerRepository answerRepository;
 
+    @Autowired
+    private QuestionSearchIndex questionSearchIndex;
+
+    @Autowired
+    private QuestionSampler questionSampler;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Links the question to the listed possible answers that exist, loading them all in one query.
+     */
     @Override
     public Question createQuestion(Question question) {
-        for(PossibleAnswer possibleAnswer : question.getPossibleAnswerSet()){
-            if(answerRepository.findById(possibleAnswer.getId()).isPresent()) {
-                answerRepository.findById(possibleAnswer.getId()).get().addQuestion(question);
-            }
+        Set<Long> answerIds = new HashSet<>();
+        for (PossibleAnswer possibleAnswer : question.getPossibleAnswerSet()) {
+            answerIds.add(possibleAnswer.getId());
         }
-        return questionRepository.save(question);
+        List<PossibleAnswer> possibleAnswers = answerIds.isEmpty()
+                ? Collections.emptyList() : answerRepository.findAllById(answerIds);
+        for (PossibleAnswer possibleAnswer : possibleAnswers) {
+            possibleAnswer.addQuestion(question);
+        }
+        question.setPossibleAnswerSet(new HashSet<>(possibleAnswers));
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(QuestionChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
@@ -46,12 +85,43 @@ public class QuestionServiceImpl implements QuestionService1 {
             questionUpdate.setCategory(question.getCategory());
             questionUpdate.setTitle(question.getTitle());
             questionRepository.save(questionUpdate);
+            eventPublisher.publishEvent(QuestionChangedEvent.saved(questionUpdate));
             return questionUpdate;
         } else {
             throw new ResourceNotFoundException("Record not found with id :" + question.getId());
         }
     }
 
+    /**
+     * Links the question to all listed possible answers, loading them in one query.
+     */
+    @Override
+    public QuestionView attachAnswers(long id, Collection<Long> answerIds) {
+        if (answerIds == null || answerIds.isEmpty()) {
+            throw new BadRequestException("No possible answer ids given");
+        }
+        Question question = questionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Record not found with id :" + id));
+        Set<Long> missing = new TreeSet<>(answerIds);
+        List<PossibleAnswer> possibleAnswers = answerRepository.findAllById(missing);
+        for (PossibleAnswer possibleAnswer : possibleAnswers) {
+            missing.remove(possibleAnswer.getId());
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Possible answers not found with ids :" + missing);
+        }
+        for (PossibleAnswer possibleAnswer : possibleAnswers) {
+            possibleAnswer.addQuestion(question);
+            question.getPossibleAnswerSet().add(possibleAnswer);
+        }
+        eventPublisher.publishEvent(SurveyChangedEvent.any());
+        List<PossibleAnswerView> views = new ArrayList<>();
+        question.getPossibleAnswerSet().stream()
+                .sorted(Comparator.comparingLong(PossibleAnswer::getId))
+                .forEach(possibleAnswer -> views.add(new PossibleAnswerView(possibleAnswer.getId(), possibleAnswer.getText())));
+        return new QuestionView(question, views);
+    }
+
     @Override
     public Question getQuestionById(long id) {
         Optional<Question> questionDB = this.questionRepository.findById(id);
@@ -62,6 +132,18 @@ public class QuestionServiceImpl implements QuestionService1 {
         }
     }
 
+    /**
+     * Reads only the versions of the question and its possible answers.
+     */
+    @Override
+    public String getQuestionETag(long id) {
+        List<VersionRow> rows = questionRepository.findVersionRowsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Record not found with id :" + id);
+        }
+        return VersionTags.of(id, rows);
+    }
+
     @Override
     public List<Question> getAllQuestion() {
         return questionRepository.findAll();
@@ -71,7 +153,13 @@ public class QuestionServiceImpl implements QuestionService1 {
     public boolean deleteQuestion(long id) {
         Optional<Question> questionDB = this.questionRepository.findById(id);
         if(questionDB.isPresent()) {
-            this.questionRepository.delete(questionDB.get());
+            Question question = questionDB.get();
+            // the links are owned by the possible answers, removing them there deletes the join rows
+            for (PossibleAnswer possibleAnswer : question.getPossibleAnswerSet()) {
+                possibleAnswer.getQuestionSet().remove(question);
+            }
+            this.questionRepository.delete(question);
+            eventPublisher.publishEvent(QuestionChangedEvent.deleted(id));
         } else {
             throw new ResourceNotFoundException("Record not found with id :" + id);
         }
@@ -80,7 +168,12 @@ public class QuestionServiceImpl implements QuestionService1 {
 
     @Override
     public List<Question> searchQuestionsByTitle(String title) {
-        return questionRepository.findByTitleContaining(title);
+        return findAllInOrder(questionSearchIndex.containing(title, QuestionSearchIndex.TITLE));
+    }
+
+    @Override
+    public List<Question> searchQuestions(String query, int limit) {
+        return findAllInOrder(questionSearchIndex.search(query, limit));
     }
 
     @Override
@@ -90,7 +183,76 @@ public class QuestionServiceImpl implements QuestionService1 {
 
     @Override
     public Question getRandomQuestion() {
-        return questionRepository.findRandomQuestion();
+        return getRandomQuestion(null, null);
+    }
+
+    @Override
+    public Question getRandomQuestion(String category, String difficulty) {
+        return findSampled(() -> questionSampler.sample(category, difficulty));
+    }
+
+    @Override
+    public Question getWeightedRandomQuestion(QuestionSampler.Attribute attribute, Map<String, Double> weights) {
+        return findSampled(() -> questionSampler.sampleWeighted(attribute, weights));
+    }
+
+    @Override
+    public AssembledQuestions assembleQuestions(AssemblyRequest request) {
+        if (request.getStrata() == null || request.getStrata().isEmpty()) {
+            throw new BadRequestException("At least one stratum is required");
+        }
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        long[] ids = questionSampler.assemble(request.getStrata(), seed, request.isShuffle());
+        List<Long> ordered = LongStream.of(ids).boxed().collect(Collectors.toList());
+        return new AssembledQuestions(seed, findAllInOrder(ordered));
+    }
+
+    /**
+     * Reads one row more than the page size to learn whether a next page exists, then the possible answers
+     * of the page in one more query.
+     */
+    @Override
+    public KeysetPage<QuestionView> getQuestionPage(QuestionCursor.Sort sort, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        QuestionCursor after = cursor != null ? QuestionCursor.decode(cursor) : null;
+        if (after != null && after.getSort() != sort) {
+            throw new BadRequestException("Cursor belongs to another sort order");
+        }
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Question> questions;
+        if (sort == QuestionCursor.Sort.ID) {
+            questions = questionRepo.findByIdGreaterThanOrderByIdAsc(after != null ? after.getId() : Long.MIN_VALUE, limit);
+        } else if (after == null) {
+            questions = questionRepo.findAllOrderByCategory(limit);
+        } else if (after.getCategory() == null) {
+            questions = questionRepo.findAfterNullCategory(after.getId(), limit);
+        } else {
+            questions = questionRepo.findAfterCategory(after.getCategory(), after.getId(), limit);
+        }
+        String next = null;
+        if (questions.size() > size) {
+            questions = questions.subList(0, size);
+            next = QuestionCursor.after(sort, questions.get(size - 1)).encode();
+        }
+        return new KeysetPage<>(toViews(questions), next, includeTotal ? questionRepository.count() : null);
+    }
+
+    private List<QuestionView> toViews(List<Question> questions) {
+        Map<Long, List<PossibleAnswerView>> answers = new HashMap<>();
+        if (!questions.isEmpty()) {
+            List<Long> ids = questions.stream().map(Question::getId).collect(Collectors.toList());
+            for (QuestionAnswerRow row : answerRepository.findRowsByQuestionIds(ids)) {
+                answers.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>())
+                        .add(new PossibleAnswerView(row.getAnswerId(), row.getText()));
+            }
+        }
+        List<QuestionView> views = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            views.add(new QuestionView(question, answers.getOrDefault(question.getId(), Collections.emptyList())));
+        }
+        return views;
     }
 
     @Override
@@ -102,4 +264,41 @@ public class QuestionServiceImpl implements QuestionService1 {
     public List<Question> getQuestionsByCategory(String category) {
         return questionRepository.findByCategory(category);
     }
+
+    /**
+     * Loads a drawn question, drawing again if it was deleted since the draw.
+     *
+     * @return The question, or null if there is none to draw.
+     */
+    private Question findSampled(Supplier<OptionalLong> sampler) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            OptionalLong id = sampler.get();
+            if (id.isEmpty()) {
+                return null;
+            }
+            Optional<Question> question = questionRepository.findById(id.getAsLong());
+            if (question.isPresent()) {
+                return question.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads the questions by primary key and returns them in the order of the ids.
+     */
+    private List<Question> findAllInOrder(List<Long> ids) {
+        Map<Long, Question> questions = new HashMap<>();
+        for (Question question : questionRepository.findAllById(ids)) {
+            questions.put(question.getId(), question);
+        }
+        List<Question> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Question question = questions.get(id);
+            if (question != null) {
+                ordered.add(question);
+            }
+        }
+        return ordered;
+    }
 }
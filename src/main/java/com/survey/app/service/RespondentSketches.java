@@ -0,0 +1,244 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.DistinctCount;
+import com.survey.app.dto.SubmissionRespondent;
+import com.survey.app.model.RespondentSketch;
+import com.survey.app.repositories.RespondentSketchRepository;
+import com.survey.app.repositories.SubmissionRepository;
+import com.survey.app.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Distinct respondent counts per survey, per creator and per day (UTC) of a creator, kept as {@link HyperLogLog} sketches.
+ * Sketches are updated after every committed write and saved to RESPONDENT_SKETCH every
+ * {@code survey.sketches.flush-interval-ms} and once more on shutdown unless the database is in memory;
+ * each flush saves every changed sketch in one transaction.
+ * At startup the saved sketches are loaded and the submissions recorded since the latest flush are added
+ * again. Adding a respondent twice does not change a sketch, so the replay can safely overlap what was
+ * already saved. The bean is never created lazily, since the replay and the flushes must run from startup.
+ */
+@Component
+@Lazy(false)
+public class RespondentSketches implements InitializingBean, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RespondentSketches.class);
+
+    /**
+     * Covers answers stamped before a save but committed after it.
+     */
+    private static final Duration REPLAY_MARGIN = Duration.ofMinutes(5);
+
+    private static final String IN_MEMORY_URL = "jdbc:h2:mem:";
+
+    private static final String DAY_PREFIX = "day:";
+    private static final int DAY_KEY_LENGTH = DAY_PREFIX.length() + "yyyy-MM-dd".length();
+
+    private final RespondentSketchRepository respondentSketchRepository;
+    private final SubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * An in-memory database goes away with the JVM, so there is nothing to save on shutdown.
+     */
+    private final boolean flushOnStop;
+    private final ConcurrentMap<String, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    /**
+     * The days that have a sketch, per creator, so a range only visits those.
+     */
+    private final ConcurrentMap<String, NavigableSet<LocalDate>> days = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public RespondentSketches(RespondentSketchRepository respondentSketchRepository,
+                              SubmissionRepository submissionRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${spring.datasource.url:}") String url) {
+        this.respondentSketchRepository = respondentSketchRepository;
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushOnStop = !url.startsWith(IN_MEMORY_URL);
+    }
+
+    public static String surveyKey(UUID surveyId) {
+        return "survey:" + surveyId;
+    }
+
+    /**
+     * The day comes first and has a fixed length, so the key is parsed back whatever the creator name holds.
+     */
+    public static String dayKey(String creatorName, LocalDate day) {
+        return DAY_PREFIX + day + ':' + creatorName;
+    }
+
+    public static String creatorKey(String creatorName) {
+        return "creator:" + creatorName;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Instant since = Instant.EPOCH;
+        List<RespondentSketch> saved = respondentSketchRepository.findAll();
+        if (!saved.isEmpty()) {
+            Instant latest = Instant.EPOCH;
+            for (RespondentSketch sketch : saved) {
+                sketches.put(sketch.getSketchKey(), HyperLogLog.fromBytes(sketch.getRegisters()));
+                String key = sketch.getSketchKey();
+                // day sketches saved before they were kept per creator have no creator name and are not read
+                if (key.startsWith(DAY_PREFIX) && key.length() > DAY_KEY_LENGTH && key.charAt(DAY_KEY_LENGTH) == ':') {
+                    addDay(key.substring(DAY_KEY_LENGTH + 1),
+                            LocalDate.parse(key.substring(DAY_PREFIX.length(), DAY_KEY_LENGTH)));
+                }
+                if (sketch.getSavedAt().isAfter(latest)) {
+                    latest = sketch.getSavedAt();
+                }
+            }
+            since = latest.minus(REPLAY_MARGIN);
+        }
+        Instant replayFrom = since;
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<SubmissionRespondent> submissions = submissionRepository.streamSubmittedSince(replayFrom)) {
+                submissions.forEach(s -> add(s.getSurveyId(), s.getCreatorName(), s.getRespondentName(), s.getSubmittedAt()));
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(DoneSurveysRecordedEvent event) {
+        for (DoneSurveysRecordedEvent.RecordedAnswer answer : event.getAnswers()) {
+            add(answer.getSurveyId(), answer.getCreatorName(), answer.getRespondentName(), answer.getRecordedAt());
+        }
+    }
+
+    /**
+     * @param key The sketch key.
+     * @return The estimated number of distinct respondents, 0 if none were seen.
+     */
+    public DistinctCount count(String key) {
+        HyperLogLog sketch = sketches.get(key);
+        return new DistinctCount(key, sketch != null ? sketch.estimate() : 0, HyperLogLog.standardError());
+    }
+
+    /**
+     * @param creatorName The creator whose surveys are counted.
+     * @param from        The first day.
+     * @param to          The last day, inclusive.
+     * @return The estimated number of distinct respondents of the creator's surveys over all days in the range.
+     * Only the days with a sketch are visited, so the cost does not grow with the length of the range.
+     */
+    public DistinctCount countDays(String creatorName, LocalDate from, LocalDate to) {
+        HyperLogLog union = new HyperLogLog();
+        NavigableSet<LocalDate> creatorDays = days.get(creatorName);
+        if (creatorDays != null && !to.isBefore(from)) {
+            for (LocalDate day : creatorDays.subSet(from, true, to, true)) {
+                union.merge(sketches.get(dayKey(creatorName, day)));
+            }
+        }
+        String scope = from.equals(to) ? dayKey(creatorName, from) : dayKey(creatorName, from) + ".." + to;
+        return new DistinctCount(scope, union.estimate(), HyperLogLog.standardError());
+    }
+
+    /**
+     * Runs under a lock, since the final flush on shutdown may overlap a scheduled one.
+     */
+    @Scheduled(fixedDelayString = "${survey.sketches.flush-interval-ms:60000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        // a lock rather than a monitor, so a flush waiting for the database does not pin a carrier thread
+        flushLock.lock();
+        try {
+            Instant now = Instant.now();
+            List<RespondentSketch> changed = new ArrayList<>();
+            for (String key : dirty) {
+                // unmark before copying, so a concurrent add marks the sketch again
+                dirty.remove(key);
+                changed.add(new RespondentSketch(key, sketches.get(key).toBytes(), now));
+            }
+            try {
+                respondentSketchRepository.saveAll(changed);
+            } catch (RuntimeException e) {
+                changed.forEach(sketch -> dirty.add(sketch.getSketchKey()));
+                log.warn("Saving {} respondent sketches failed, retrying on the next flush", changed.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flushOnStop) {
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the ingestion queue, whose final drain still adds respondents, and before the DataSource
+     * is closed, so the last flush can still reach the database.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 3;
+    }
+
+    private void add(UUID surveyId, String creatorName, String respondentName, Instant at) {
+        if (respondentName == null) {
+            return;
+        }
+        add(surveyKey(surveyId), respondentName);
+        if (creatorName != null) {
+            add(creatorKey(creatorName), respondentName);
+            LocalDate day = LocalDate.ofInstant(at, ZoneOffset.UTC);
+            add(dayKey(creatorName, day), respondentName);
+            addDay(creatorName, day);
+        }
+    }
+
+    private void addDay(String creatorName, LocalDate day) {
+        days.computeIfAbsent(creatorName, c -> new ConcurrentSkipListSet<>()).add(day);
+    }
+
+    private void add(String key, String respondentName) {
+        if (sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(respondentName)) {
+            dirty.add(key);
+        }
+    }
+}
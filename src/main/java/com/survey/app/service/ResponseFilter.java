@@ -0,0 +1,53 @@
+package com.survey.app.service;
+
+import java.time.Instant;
+
+/**
+ * Restricts analytics to the submissions of one respondent, a submission time range and/or
+ * the submissions that gave a certain answer to a question. Unset criteria match every submission.
+ */
+public class ResponseFilter {
+
+    public static final ResponseFilter NONE = new ResponseFilter(null, null, null, null, null);
+
+    private final String respondentName;
+    private final Instant submittedFrom;
+    private final Instant submittedTo;
+    private final Long questionId;
+    private final String answer;
+
+    /**
+     * @param respondentName Only submissions of this respondent.
+     * @param submittedFrom  Only submissions recorded at or after this moment.
+     * @param submittedTo    Only submissions recorded before this moment.
+     * @param questionId     Together with {@code answer}, only submissions that answered this question...
+     * @param answer         ...with this answer.
+     */
+    public ResponseFilter(String respondentName, Instant submittedFrom, Instant submittedTo, Long questionId, String answer) {
+        this.respondentName = respondentName;
+        this.submittedFrom = submittedFrom;
+        this.submittedTo = submittedTo;
+        this.questionId = questionId;
+        this.answer = answer;
+    }
+
+    public String getRespondentName() {
+        return respondentName;
+    }
+
+    public Instant getSubmittedFrom() {
+        return submittedFrom;
+    }
+
+    public Instant getSubmittedTo() {
+        return submittedTo;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+}
@@ -0,0 +1,315 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AnswerDistribution;
+import com.survey.app.dto.CrossTab;
+import com.survey.app.dto.ResponseCell;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable, columnar copy of the responses to one survey. Questions, answers and respondents are
+ * replaced by dense ordinals and every submission is one row of {@code cells}, holding the answer
+ * ordinal given to each question, so counting is a scan over a single int array.
+ * Counts are computed with fork/join over ranges of submissions.
+ * When a submission answered a question more than once, its last answer is kept.
+ */
+public final class ResponseMatrix {
+
+    static final int NO_ANSWER = -1;
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    private static final int ANY = -1;
+    private static final int NO_MATCH = -2;
+
+    private final long[] questionIds;
+    private final Map<Long, Integer> questionOrdinals;
+    private final String[][] answers;
+    private final Map<String, Integer> respondentOrdinals;
+    private final int[] respondents;
+    private final long[] submittedAt;
+    private final int[] cells;
+
+    private ResponseMatrix(long[] questionIds, Map<Long, Integer> questionOrdinals, String[][] answers,
+                           Map<String, Integer> respondentOrdinals, int[] respondents, long[] submittedAt, int[] cells) {
+        this.questionIds = questionIds;
+        this.questionOrdinals = questionOrdinals;
+        this.answers = answers;
+        this.respondentOrdinals = respondentOrdinals;
+        this.respondents = respondents;
+        this.submittedAt = submittedAt;
+        this.cells = cells;
+    }
+
+    public int getSubmissions() {
+        return respondents.length;
+    }
+
+    /**
+     * @param rowQuestionId    The question whose answers label the rows.
+     * @param columnQuestionId The question whose answers label the columns.
+     * @param filter           The submissions to count.
+     * @return The number of matching submissions per pair of answers.
+     */
+    public CrossTab crossTab(long rowQuestionId, long columnQuestionId, ResponseFilter filter) {
+        int row = questionOrdinal(rowQuestionId);
+        int column = questionOrdinal(columnQuestionId);
+        String[] rowAnswers = answersOf(row);
+        String[] columnAnswers = answersOf(column);
+        long[] counts = count(filter, row, column, columnAnswers.length);
+
+        long total = 0;
+        for (int i = 0; i < counts.length - 1; i++) {
+            total += counts[i];
+        }
+        long[][] table = new long[rowAnswers.length][columnAnswers.length];
+        double[][] percentages = new double[rowAnswers.length][columnAnswers.length];
+        for (int r = 0; r < rowAnswers.length; r++) {
+            for (int c = 0; c < columnAnswers.length; c++) {
+                table[r][c] = counts[r * columnAnswers.length + c];
+                percentages[r][c] = percentage(table[r][c], total);
+            }
+        }
+        return new CrossTab(rowQuestionId, columnQuestionId, counts[counts.length - 1], total,
+                Arrays.asList(rowAnswers), Arrays.asList(columnAnswers), table, percentages);
+    }
+
+    /**
+     * @param questionId The question.
+     * @param filter     The submissions to count.
+     * @return The number of matching submissions per answer to the question.
+     */
+    public AnswerDistribution distribution(long questionId, ResponseFilter filter) {
+        int question = questionOrdinal(questionId);
+        String[] questionAnswers = answersOf(question);
+        long[] counts = count(filter, question, NO_ANSWER, 1);
+
+        long answered = 0;
+        for (int i = 0; i < questionAnswers.length; i++) {
+            answered += counts[i];
+        }
+        Map<String, Long> answerCounts = new LinkedHashMap<>();
+        Map<String, Double> percentages = new LinkedHashMap<>();
+        for (int i = 0; i < questionAnswers.length; i++) {
+            answerCounts.put(questionAnswers[i], counts[i]);
+            percentages.put(questionAnswers[i], percentage(counts[i], answered));
+        }
+        return new AnswerDistribution(questionId, counts[counts.length - 1], answered, answerCounts, percentages);
+    }
+
+    /**
+     * @param width The number of column answers, 0 when the column question is unknown.
+     * @return The counts per pair of answers followed by the number of matching submissions; only the
+     * latter when either question is unknown.
+     */
+    private long[] count(ResponseFilter filter, int row, int column, int width) {
+        Selection selection = select(filter);
+        boolean empty = row == NO_ANSWER || width == 0;
+        int length = (empty ? 0 : answers[row].length * width) + 1;
+        if (empty || selection == null) {
+            long[] counts = new long[length];
+            if (selection != null) {
+                for (int s = 0; s < respondents.length; s++) {
+                    if (selection.matches(s)) {
+                        counts[length - 1]++;
+                    }
+                }
+            }
+            return counts;
+        }
+        return ForkJoinPool.commonPool().invoke(new CountTask(selection, row, column, width, length, 0, respondents.length));
+    }
+
+    /**
+     * @return The compiled filter, or null if no submission can match it.
+     */
+    private Selection select(ResponseFilter filter) {
+        int respondent = ANY;
+        if (filter.getRespondentName() != null) {
+            respondent = respondentOrdinals.getOrDefault(filter.getRespondentName(), NO_MATCH);
+        }
+        int question = NO_ANSWER;
+        int answer = NO_ANSWER;
+        if (filter.getQuestionId() != null && filter.getAnswer() != null) {
+            question = questionOrdinal(filter.getQuestionId());
+            answer = question == NO_ANSWER ? NO_ANSWER : Arrays.asList(answers[question]).indexOf(filter.getAnswer());
+            if (answer == NO_ANSWER) {
+                return null;
+            }
+        }
+        if (respondent == NO_MATCH) {
+            return null;
+        }
+        long from = filter.getSubmittedFrom() != null ? filter.getSubmittedFrom().toEpochMilli() : Long.MIN_VALUE;
+        long to = filter.getSubmittedTo() != null ? filter.getSubmittedTo().toEpochMilli() : Long.MAX_VALUE;
+        return new Selection(respondent, from, to, question, answer);
+    }
+
+    private int questionOrdinal(long questionId) {
+        return questionOrdinals.getOrDefault(questionId, NO_ANSWER);
+    }
+
+    private String[] answersOf(int question) {
+        return question == NO_ANSWER ? new String[0] : answers[question];
+    }
+
+    private static double percentage(long count, long total) {
+        return total == 0 ? 0 : count * 100.0 / total;
+    }
+
+    private final class Selection {
+
+        private final int respondent;
+        private final long from;
+        private final long to;
+        private final int question;
+        private final int answer;
+
+        private Selection(int respondent, long from, long to, int question, int answer) {
+            this.respondent = respondent;
+            this.from = from;
+            this.to = to;
+            this.question = question;
+            this.answer = answer;
+        }
+
+        private boolean matches(int submission) {
+            return (respondent == ANY || respondents[submission] == respondent)
+                    && submittedAt[submission] >= from && submittedAt[submission] < to
+                    && (question == NO_ANSWER || cells[submission * questionIds.length + question] == answer);
+        }
+    }
+
+    /**
+     * Counts a range of submissions into {@code counts[rowAnswer * width + columnAnswer]}, the last slot
+     * holding the number of matching submissions. Without a column question the width is 1.
+     */
+    private final class CountTask extends RecursiveTask<long[]> {
+
+        private final Selection selection;
+        private final int row;
+        private final int column;
+        private final int width;
+        private final int length;
+        private final int from;
+        private final int to;
+
+        private CountTask(Selection selection, int row, int column, int width, int length, int from, int to) {
+            this.selection = selection;
+            this.row = row;
+            this.column = column;
+            this.width = width;
+            this.length = length;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return countRange();
+            }
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(selection, row, column, width, length, from, middle);
+            left.fork();
+            long[] counts = new CountTask(selection, row, column, width, length, middle, to).compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+
+        private long[] countRange() {
+            long[] counts = new long[length];
+            int questions = questionIds.length;
+            for (int s = from; s < to; s++) {
+                if (!selection.matches(s)) {
+                    continue;
+                }
+                counts[length - 1]++;
+                int rowAnswer = cells[s * questions + row];
+                if (rowAnswer == NO_ANSWER) {
+                    continue;
+                }
+                if (column == NO_ANSWER) {
+                    counts[rowAnswer]++;
+                } else {
+                    int columnAnswer = cells[s * questions + column];
+                    if (columnAnswer != NO_ANSWER) {
+                        counts[rowAnswer * width + columnAnswer]++;
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Collects answers in any order and assigns the ordinals.
+     */
+    public static final class Builder {
+
+        private final Map<UUID, Integer> submissionOrdinals = new HashMap<>();
+        private final Map<String, Integer> respondentOrdinals = new HashMap<>();
+        private final Map<Long, Integer> questionOrdinals = new LinkedHashMap<>();
+        private final List<Map<String, Integer>> answerOrdinals = new ArrayList<>();
+        private int[] respondents = new int[64];
+        private long[] submittedAt = new long[64];
+        private int[] cellSubmissions = new int[256];
+        private int[] cellQuestions = new int[256];
+        private int[] cellAnswers = new int[256];
+        private int cellCount;
+
+        public Builder add(ResponseCell cell) {
+            int submission = submissionOrdinals.computeIfAbsent(cell.getSubmissionId(), id -> {
+                int ordinal = submissionOrdinals.size();
+                if (ordinal == respondents.length) {
+                    respondents = Arrays.copyOf(respondents, ordinal * 2);
+                    submittedAt = Arrays.copyOf(submittedAt, ordinal * 2);
+                }
+                respondents[ordinal] = respondentOrdinals.computeIfAbsent(cell.getRespondentName(), name -> respondentOrdinals.size());
+                submittedAt[ordinal] = cell.getSubmittedAt() != null ? cell.getSubmittedAt().toEpochMilli() : 0;
+                return ordinal;
+            });
+            int question = questionOrdinals.computeIfAbsent(cell.getQuestionId(), id -> {
+                answerOrdinals.add(new LinkedHashMap<>());
+                return questionOrdinals.size();
+            });
+            if (cell.getAnswerText() == null) {
+                return this;
+            }
+            Map<String, Integer> questionAnswers = answerOrdinals.get(question);
+            int answer = questionAnswers.computeIfAbsent(cell.getAnswerText(), text -> questionAnswers.size());
+            if (cellCount == cellAnswers.length) {
+                cellSubmissions = Arrays.copyOf(cellSubmissions, cellCount * 2);
+                cellQuestions = Arrays.copyOf(cellQuestions, cellCount * 2);
+                cellAnswers = Arrays.copyOf(cellAnswers, cellCount * 2);
+            }
+            cellSubmissions[cellCount] = submission;
+            cellQuestions[cellCount] = question;
+            cellAnswers[cellCount] = answer;
+            cellCount++;
+            return this;
+        }
+
+        public ResponseMatrix build() {
+            int submissions = submissionOrdinals.size();
+            int questions = questionOrdinals.size();
+            long[] questionIds = new long[questions];
+            questionOrdinals.forEach((id, ordinal) -> questionIds[ordinal] = id);
+            String[][] answers = new String[questions][];
+            for (int q = 0; q < questions; q++) {
+                answers[q] = answerOrdinals.get(q).keySet().toArray(new String[0]);
+            }
+            int[] cells = new int[Math.multiplyExact(submissions, questions)];
+            Arrays.fill(cells, NO_ANSWER);
+            for (int i = 0; i < cellCount; i++) {
+                cells[cellSubmissions[i] * questions + cellQuestions[i]] = cellAnswers[i];
+            }
+            return new ResponseMatrix(questionIds, new HashMap<>(questionOrdinals), answers, new HashMap<>(respondentOrdinals),
+                    Arrays.copyOf(respondents, submissions), Arrays.copyOf(submittedAt, submissions), cells);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.survey.app.service;
+
+import com.survey.app.model.ResponseSummaryId;
+import com.survey.app.repositories.AnswerRepository;
+import com.survey.app.repositories.ResponseSummaryRepository;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.LongType;
+import org.hibernate.type.UUIDBinaryType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Keeps the RESPONSE_SUMMARY table in step with DONE_SURVEY. The counts are incremented right before the
+ * transaction that stored the answers commits, in that same transaction and on its connection, so both tables
+ * always agree. A count that cannot be added fails the transaction instead of being lost.
+ * The keys are updated in a fixed order, so two writers of the same answers wait for each other
+ * instead of deadlocking.
+ */
+@Component
+public class ResponseSummaryUpdater {
+
+    private static final Comparator<ResponseSummaryId> KEY_ORDER = Comparator.comparing(ResponseSummaryId::getSurveyId)
+            .thenComparingLong(ResponseSummaryId::getQuestionId)
+            .thenComparingLong(ResponseSummaryId::getAnswerTextId);
+
+    private static final String INSERT = "insert into RESPONSE_SUMMARY " +
+            "(survey_id, question_id, answer_text_id, possible_answer_id, answerCount) values (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ResponseSummaryRepository responseSummaryRepository;
+    private final AnswerRepository answerRepository;
+
+    public ResponseSummaryUpdater(ResponseSummaryRepository responseSummaryRepository,
+                                  AnswerRepository answerRepository) {
+        this.responseSummaryRepository = responseSummaryRepository;
+        this.answerRepository = answerRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRecorded(DoneSurveysRecordedEvent event) {
+        Map<ResponseSummaryId, Long> deltas = new TreeMap<>(KEY_ORDER);
+        Map<ResponseSummaryId, String> texts = new HashMap<>();
+        for (DoneSurveysRecordedEvent.RecordedAnswer answer : event.getAnswers()) {
+            if (answer.getAnswerTextId() == null) {
+                continue;
+            }
+            ResponseSummaryId id = new ResponseSummaryId(answer.getSurveyId(), answer.getQuestionId(), answer.getAnswerTextId());
+            deltas.merge(id, 1L, Long::sum);
+            texts.putIfAbsent(id, answer.getAnswerText());
+        }
+        for (Map.Entry<ResponseSummaryId, Long> delta : deltas.entrySet()) {
+            ResponseSummaryId id = delta.getKey();
+            int updated = responseSummaryRepository.increment(id, delta.getValue());
+            if (updated == 0) {
+                // a new key, unless another writer created the row since the increment and has committed it
+                updated = insert(id, texts.get(id), delta.getValue()) ? 1 : responseSummaryRepository.increment(id, delta.getValue());
+            }
+            if (updated != 1) {
+                throw new IllegalStateException("Response summary " + id.getSurveyId() + "/" + id.getQuestionId() + "/"
+                        + id.getAnswerTextId() + " was not updated, " + updated + " rows changed");
+            }
+        }
+    }
+
+    /**
+     * Creates the row of a new key with its first count.
+     *
+     * @return Whether the row was created, false when another writer created it first.
+     */
+    private boolean insert(ResponseSummaryId id, String answerText, long delta) {
+        List<Long> possibleAnswers = answerRepository.findIdsByQuestionIdAndText(id.getQuestionId(), answerText);
+        Long possibleAnswerId = possibleAnswers.isEmpty() ? null : possibleAnswers.get(0);
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                UUIDBinaryType.INSTANCE.nullSafeSet(insert, id.getSurveyId(), 1, session);
+                insert.setLong(2, id.getQuestionId());
+                insert.setLong(3, id.getAnswerTextId());
+                LongType.INSTANCE.nullSafeSet(insert, possibleAnswerId, 4, session);
+                insert.setLong(5, delta);
+                return UniqueInserts.insert(connection, insert);
+            }
+        });
+    }
+}
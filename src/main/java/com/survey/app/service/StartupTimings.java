@@ -0,0 +1,161 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.StartupReport;
+import com.survey.app.dto.StartupStepTiming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reports where the startup time went once the application is ready, from the steps recorded by the
+ * {@link BufferingApplicationStartup} that {@link com.survey.app.SurveyAppApplication#main} installs.
+ * The report is logged on one line, so startup regressions can be followed in the logs of every instance.
+ * With {@code survey.startup.exit-when-ready} the application shuts down right after the report, which
+ * is how the training run of the class data sharing archive ends.
+ */
+@Component
+public class StartupTimings implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimings.class);
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    private final ApplicationStartup applicationStartup;
+    private final int slowestBeans;
+    private final boolean exitWhenReady;
+    private volatile StartupReport report;
+
+    public StartupTimings(ApplicationStartup applicationStartup,
+                          @Value("${survey.startup.slowest-beans:10}") int slowestBeans,
+                          @Value("${survey.startup.exit-when-ready:false}") boolean exitWhenReady) {
+        this.applicationStartup = applicationStartup;
+        this.slowestBeans = slowestBeans;
+        this.exitWhenReady = exitWhenReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        report = buildReport(Instant.now());
+        log.info("Ready in {} ms (JVM {} ms, {} beans); phases: {}; slowest beans: {}",
+                report.getReadyMillis(), report.getJvmMillis(), report.getBeanCount(),
+                format(report.getPhases()), format(report.getSlowestBeans()));
+        if (exitWhenReady) {
+            log.info("Exiting after startup, survey.startup.exit-when-ready is set");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /**
+     * @return The startup report, or null before the application is ready.
+     */
+    public StartupReport getReport() {
+        return report;
+    }
+
+    private StartupReport buildReport(Instant readyAt) {
+        Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        long readyMillis = Duration.between(jvmStart, readyAt).toMillis();
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) {
+            // started without the main method, e.g. by a test
+            return new StartupReport(readyMillis, -1, 0, Collections.emptyList(), Collections.emptyList());
+        }
+        // the steps of beans created later on first use stay buffered until the buffer is full
+        StartupTimeline timeline = ((BufferingApplicationStartup) applicationStartup).drainBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, StartupTimeline.TimelineEvent> byId = new HashMap<>();
+        Map<Long, Long> childMillis = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            byId.put(event.getStartupStep().getId(), event);
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childMillis.merge(parentId, event.getDuration().toMillis(), Long::sum);
+            }
+        }
+
+        // a step nested in a step of the same name, such as a bean created for another bean, is counted once
+        Map<String, Phase> phases = new HashMap<>();
+        List<StartupStepTiming> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            Phase phase = phases.computeIfAbsent(step.getName(), name -> new Phase(name, event.getStartTime()));
+            phase.count++;
+            if (event.getStartTime().isBefore(phase.firstStart)) {
+                phase.firstStart = event.getStartTime();
+            }
+            if (!nestedInSameStep(step, byId)) {
+                phase.millis += event.getDuration().toMillis();
+            }
+            if (BEAN_INSTANTIATION.equals(step.getName())) {
+                long ownMillis = event.getDuration().toMillis() - childMillis.getOrDefault(step.getId(), 0L);
+                beans.add(new StartupStepTiming(tag(step, "beanName"), 1, ownMillis));
+            }
+        }
+        List<StartupStepTiming> phaseTimings = phases.values().stream()
+                .sorted(Comparator.comparing(phase -> phase.firstStart))
+                .map(phase -> new StartupStepTiming(phase.name, phase.count, phase.millis))
+                .collect(Collectors.toList());
+        List<StartupStepTiming> slowest = beans.stream()
+                .sorted(Comparator.comparingLong(StartupStepTiming::getMillis).reversed())
+                .limit(slowestBeans)
+                .collect(Collectors.toList());
+        long jvmMillis = Duration.between(jvmStart, timeline.getStartTime()).toMillis();
+        return new StartupReport(readyMillis, jvmMillis, beans.size(), phaseTimings, slowest);
+    }
+
+    private static boolean nestedInSameStep(StartupStep step, Map<Long, StartupTimeline.TimelineEvent> byId) {
+        Long parentId = step.getParentId();
+        while (parentId != null) {
+            StartupTimeline.TimelineEvent parent = byId.get(parentId);
+            if (parent == null) {
+                return false;
+            }
+            if (parent.getStartupStep().getName().equals(step.getName())) {
+                return true;
+            }
+            parentId = parent.getStartupStep().getParentId();
+        }
+        return false;
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static String format(List<StartupStepTiming> timings) {
+        return timings.stream()
+                .map(timing -> timing.getName() + "=" + timing.getMillis() + "ms")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static final class Phase {
+
+        private final String name;
+        private Instant firstStart;
+        private int count;
+        private long millis;
+
+        private Phase(String name, Instant firstStart) {
+            this.name = name;
+            this.firstStart = firstStart;
+        }
+    }
+}
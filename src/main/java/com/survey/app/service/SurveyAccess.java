@@ -0,0 +1,66 @@
+package com.survey.app.service;
+
+import com.survey.app.exceptions.ResourceNotFoundException;
+import com.survey.app.repositories.QuestionRepository;
+import com.survey.app.repositories.SurveyRepository;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Restricts the reports of a survey to the coordinator who created it. Surveys and questions of other creators
+ * are reported as not found, the same as ids that do not exist, so their ids cannot be probed.
+ */
+@Component
+public class SurveyAccess {
+
+    private final SurveyRepository surveyRepository;
+    private final QuestionRepository questionRepository;
+
+    public SurveyAccess(SurveyRepository surveyRepository, QuestionRepository questionRepository) {
+        this.surveyRepository = surveyRepository;
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * @throws ResourceNotFoundException Unless the survey exists and the current user created it.
+     */
+    public void checkSurvey(UUID surveyId) {
+        if (!isCurrentUser(surveyRepository.findCreatorNameById(surveyId))) {
+            throw new ResourceNotFoundException("Survey not found with id:" + surveyId);
+        }
+    }
+
+    /**
+     * @throws ResourceNotFoundException Unless the question exists and the current user created its survey.
+     */
+    public void checkQuestion(long questionId) {
+        if (!isCurrentUser(questionRepository.findCreatorNameById(questionId))) {
+            throw new ResourceNotFoundException("Question not found with id:" + questionId);
+        }
+    }
+
+    /**
+     * @throws ResourceNotFoundException Unless the creator is the current user.
+     */
+    public void checkCreator(String creatorName) {
+        if (!isCurrentUser(Optional.ofNullable(creatorName))) {
+            throw new ResourceNotFoundException("Creator not found with name:" + creatorName);
+        }
+    }
+
+    public String getCurrentUserName() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof UserDetails) {
+            return ((UserDetails) principal).getUsername();
+        }
+        return principal.toString();
+    }
+
+    private boolean isCurrentUser(Optional<String> creatorName) {
+        return creatorName.filter(getCurrentUserName()::equals).isPresent();
+    }
+}
@@ -0,0 +1,35 @@
+package com.survey.app.service;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changes what a survey reads as: the survey itself, the questions
+ * attached to it or their possible answers. Listeners should use {@code @TransactionalEventListener}
+ * so they only see committed changes.
+ */
+public class SurveyChangedEvent {
+
+    private final UUID surveyId;
+
+    private SurveyChangedEvent(UUID surveyId) {
+        this.surveyId = surveyId;
+    }
+
+    public static SurveyChangedEvent of(UUID surveyId) {
+        return new SurveyChangedEvent(surveyId);
+    }
+
+    /**
+     * For changes whose surveys are not known without another query, such as an edited possible answer.
+     */
+    public static SurveyChangedEvent any() {
+        return new SurveyChangedEvent(null);
+    }
+
+    /**
+     * @return The changed survey, or null if any survey may have changed.
+     */
+    public UUID getSurveyId() {
+        return surveyId;
+    }
+}
@@ -1,7 +1,9 @@
 package com.survey.app.service;
 
+import com.survey.app.dto.SurveyView;
 import com.survey.app.model.Survey;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,8 +11,10 @@ public interface SurveyService {
 
         Survey createSurvey(Survey survey);
         Survey updateSurvey(UUID id, Survey survey);
-        Survey getSurveyById(UUID id);
-        List<Survey> getAllSurvey();
+        SurveyView getSurveyById(UUID id);
+        List<SurveyView> getAllSurvey();
+        String getSurveyETag(UUID id);
+        SurveyView attachQuestions(UUID id, Collection<Long> questionIds);
         void deleteSurvey(UUID id);
 
 }
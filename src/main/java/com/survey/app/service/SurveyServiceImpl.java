@@ -1,20 +1,26 @@
 package com.survey.app.service;
 
+import com.survey.app.dto.PossibleAnswerView;
+import com.survey.app.dto.QuestionAnswerRow;
+import com.survey.app.dto.QuestionView;
+import com.survey.app.dto.SurveyView;
+import com.survey.app.dto.VersionRow;
+import com.survey.app.exceptions.BadRequestException;
 import com.survey.app.exceptions.ResourceNotFoundException;
 import com.survey.app.model.Question;
 import com.survey.app.model.Survey;
+import com.survey.app.repositories.AnswerRepository;
 import com.survey.app.repositories.QuestionRepository;
 import com.survey.app.repositories.SurveyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Transactional
@@ -26,15 +32,34 @@ public class SurveyServiceImpl implements SurveyService {
     @Autowired
     QuestionRepository questionRepository;
 
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Moves the listed questions that exist into the new survey, loading them all in one query.
+     */
     @Override
     public Survey createSurvey(Survey survey) {
         survey.setCreatorName(getCurrentUserName());
 
-        for(Question q : survey.getQuestionList()){
-           if(questionRepository.findById(q.getId()).isPresent())
-               questionRepository.findById(q.getId()).get().setSurvey(survey);
+        Set<Long> questionIds = new HashSet<>();
+        for (Question question : survey.getQuestionList()) {
+            questionIds.add(question.getId());
+        }
+        List<Question> questions = questionIds.isEmpty()
+                ? Collections.emptyList() : questionRepository.findAllById(questionIds);
+        for (Question question : questions) {
+            question.setSurvey(survey);
         }
-        return surveyRepository.save(survey);
+        survey.setQuestionList(new HashSet<>(questions));
+        Survey saved = surveyRepository.save(survey);
+        // attached questions are taken away from the survey they belonged to
+        eventPublisher.publishEvent(survey.getQuestionList().isEmpty()
+                ? SurveyChangedEvent.of(saved.getId()) : SurveyChangedEvent.any());
+        return saved;
     }
 
     @Override
@@ -47,6 +72,7 @@ public class SurveyServiceImpl implements SurveyService {
             surveyToUpdate.setTitle(survey.getTitle());
             surveyToUpdate.setQuestionList(survey.getQuestionList());
             surveyRepository.save(surveyToUpdate);
+            eventPublisher.publishEvent(SurveyChangedEvent.of(id));
             return surveyToUpdate;
         } else {
             throw new ResourceNotFoundException("Record not found with id:" + survey.getId());
@@ -54,22 +80,58 @@ public class SurveyServiceImpl implements SurveyService {
     }
 
     @Override
-    public Survey getSurveyById(UUID id) {
-        Optional<Survey> surveyDB = this.surveyRepository.findById(id);
+    public SurveyView getSurveyById(UUID id) {
+        Optional<Survey> surveyDB = this.surveyRepository.findWithQuestionsById(id);
 
         if (surveyDB.isPresent()) {
-            return surveyDB.get();
+            return toViews(Collections.singletonList(surveyDB.get())).get(0);
         } else {
             throw new ResourceNotFoundException("Record not found with id:" + id);
         }
     }
 
     @Override
-    public List<Survey> getAllSurvey() {
+    public List<SurveyView> getAllSurvey() {
         if (isCoordinator())
-            return surveyRepository.findByCreatorName(getCurrentUserName());
+            return toViews(surveyRepository.findWithQuestionsByCreatorName(getCurrentUserName()));
         else
-            return surveyRepository.findAllByOpenIsTrue();
+            return toViews(surveyRepository.findOpenWithQuestions());
+    }
+
+    /**
+     * Moves all listed questions into the survey, loading them in one query.
+     */
+    @Override
+    public SurveyView attachQuestions(UUID id, Collection<Long> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) {
+            throw new BadRequestException("No question ids given");
+        }
+        Survey survey = surveyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Record not found with id:" + id));
+        Set<Long> missing = new TreeSet<>(questionIds);
+        List<Question> questions = questionRepository.findAllById(missing);
+        for (Question question : questions) {
+            missing.remove(question.getId());
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Questions not found with ids:" + missing);
+        }
+        for (Question question : questions) {
+            question.setSurvey(survey);
+        }
+        // the questions are taken away from the surveys they belonged to
+        eventPublisher.publishEvent(SurveyChangedEvent.any());
+        return getSurveyById(id);
+    }
+
+    /**
+     * Reads only the versions of the survey, its questions and their possible answers.
+     */
+    @Override
+    public String getSurveyETag(UUID id) {
+        long version = surveyRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Record not found with id:" + id));
+        return VersionTags.of(version, questionRepository.findVersionRowsBySurveyId(id));
     }
 
     @Override
@@ -78,11 +140,53 @@ public class SurveyServiceImpl implements SurveyService {
 
         if (surveyDB.isPresent()) {
             this.surveyRepository.delete(surveyDB.get());
+            eventPublisher.publishEvent(SurveyChangedEvent.of(id));
         } else {
             throw new ResourceNotFoundException("Record not found with id:" + id);
         }
     }
 
+    /**
+     * Builds the read views of surveys whose questions are already fetched, loading the possible answers
+     * of all their questions in one more query. Reading any number of surveys therefore takes two queries.
+     */
+    private List<SurveyView> toViews(List<Survey> surveys) {
+        Set<Long> questionIds = new HashSet<>();
+        for (Survey survey : surveys) {
+            for (Question question : survey.getQuestionList()) {
+                questionIds.add(question.getId());
+            }
+        }
+        Map<Long, List<QuestionAnswerRow>> answers = new HashMap<>();
+        if (!questionIds.isEmpty()) {
+            for (QuestionAnswerRow row : answerRepository.findRowsByQuestionIds(questionIds)) {
+                answers.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+        List<SurveyView> views = new ArrayList<>(surveys.size());
+        for (Survey survey : surveys) {
+            List<Question> sorted = new ArrayList<>(survey.getQuestionList());
+            sorted.sort(Comparator.comparingLong(Question::getId));
+            List<QuestionView> questions = new ArrayList<>(sorted.size());
+            // the same rows, in the same order, as the version query behind getSurveyETag
+            List<VersionRow> versions = new ArrayList<>();
+            for (Question question : sorted) {
+                List<QuestionAnswerRow> rows = answers.getOrDefault(question.getId(), Collections.emptyList());
+                List<PossibleAnswerView> possibleAnswers = new ArrayList<>(rows.size());
+                for (QuestionAnswerRow row : rows) {
+                    possibleAnswers.add(new PossibleAnswerView(row.getAnswerId(), row.getText()));
+                    versions.add(new VersionRow(question.getId(), question.getVersion(), row.getAnswerId(), row.getAnswerVersion()));
+                }
+                if (rows.isEmpty()) {
+                    versions.add(new VersionRow(question.getId(), question.getVersion(), null, null));
+                }
+                questions.add(new QuestionView(question, possibleAnswers));
+            }
+            views.add(new SurveyView(survey, questions, VersionTags.of(survey.getVersion(), versions)));
+        }
+        return views;
+    }
+
     private String getCurrentUserName(){
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         String username;
@@ -0,0 +1,141 @@
+package com.survey.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.survey.app.dto.SurveyView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Read-through cache of serialized surveys, so a survey read by many respondents is loaded and serialized once.
+ * Each snapshot holds the JSON of the {@link SurveyView}, when enabled its gzip encoding, and its entity tag.
+ * Snapshots are dropped once a change to their survey, or to any question or possible answer, is committed;
+ * a snapshot loaded while such a change was committed is served for that one request but not cached.
+ * At most {@code survey.snapshots.max-entries} snapshots are kept; beyond that Caffeine evicts the ones read least
+ * often and least recently.
+ */
+@Component
+public class SurveySnapshots {
+
+    /**
+     * The immutable payload of one survey. The arrays are shared between requests and must not be modified.
+     */
+    public static final class Snapshot {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String eTag;
+
+        private Snapshot(byte[] json, byte[] gzip, String eTag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.eTag = eTag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * @return The gzip encoded JSON, or null if compression is disabled or does not make it smaller.
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+
+    @Autowired
+    private SurveyService surveyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${survey.snapshots.gzip:true}")
+    private boolean gzip;
+
+    private final Cache<UUID, Snapshot> snapshots;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SurveySnapshots(@Value("${survey.snapshots.max-entries:1000}") int maxEntries) {
+        this.snapshots = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * @param surveyId The survey to read.
+     * @return The snapshot of the survey.
+     * @throws com.survey.app.exceptions.ResourceNotFoundException if the survey does not exist.
+     */
+    public Snapshot get(UUID surveyId) {
+        Snapshot snapshot = snapshots.getIfPresent(surveyId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long loadedAt = generation.get();
+        Snapshot loaded = serialize(surveyService.getSurveyById(surveyId));
+        snapshots.asMap().compute(surveyId, (id, current) -> generation.get() == loadedAt ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * @param surveyId The survey to read.
+     * @return The entity tag of the cached snapshot, or the current one read from the versions if none is cached.
+     */
+    public String getETag(UUID surveyId) {
+        Snapshot snapshot = snapshots.getIfPresent(surveyId);
+        return snapshot != null ? snapshot.getETag() : surveyService.getSurveyETag(surveyId);
+    }
+
+    @TransactionalEventListener
+    public void onSurveyChanged(SurveyChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.getSurveyId() != null) {
+            snapshots.invalidate(event.getSurveyId());
+        } else {
+            snapshots.invalidateAll();
+        }
+    }
+
+    /**
+     * Questions can move between surveys, so a question change drops every snapshot.
+     */
+    @TransactionalEventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.invalidateAll();
+    }
+
+    private Snapshot serialize(SurveyView survey) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(survey);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize survey " + survey.getId(), e);
+        }
+        return new Snapshot(json, gzip ? compress(json) : null, survey.getETag());
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.size() < json.length ? bytes.toByteArray() : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.survey.app.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Inserts rows that another transaction may be inserting at the same time. The database makes the second insert
+ * of a key wait until the first transaction ends and then rejects it on the unique key; the insert runs inside
+ * a savepoint, so only the insert is undone and the caller's transaction goes on with the row already there.
+ */
+final class UniqueInserts {
+
+    /**
+     * SQLState of a unique key violation.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private UniqueInserts() {
+    }
+
+    /**
+     * @param connection The connection of the caller's transaction.
+     * @param insert     The insert, with its parameters set.
+     * @return Whether the row was inserted, false when a row with the same unique key exists.
+     * @throws SQLException When the insert fails for another reason.
+     */
+    static boolean insert(Connection connection, PreparedStatement insert) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw e;
+            }
+            connection.rollback(savepoint);
+            return false;
+        }
+        connection.releaseSavepoint(savepoint);
+        return true;
+    }
+}
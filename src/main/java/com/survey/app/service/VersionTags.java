@@ -0,0 +1,33 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.VersionRow;
+import com.survey.app.util.ETag;
+
+import java.util.List;
+
+/**
+ * Entity tags of the read representations, computed from versions only. A survey or question reads together
+ * with its questions and their possible answers, so its tag covers their versions as well.
+ */
+final class VersionTags {
+
+    private VersionTags() {
+    }
+
+    /**
+     * @param version The version of the survey, or the id of the question, the rows belong to.
+     * @param rows    The rows ordered by question id and answer id.
+     * @return The entity tag.
+     */
+    static String of(long version, List<VersionRow> rows) {
+        ETag eTag = new ETag().add(version);
+        for (VersionRow row : rows) {
+            eTag.add(row.getQuestionId()).add(row.getQuestionVersion()).add(row.getAnswerId()).add(row.getAnswerVersion());
+        }
+        return eTag.toString();
+    }
+
+    static String of(long version) {
+        return new ETag().add(version).toString();
+    }
+}
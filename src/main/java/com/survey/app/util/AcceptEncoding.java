@@ -0,0 +1,58 @@
+package com.survey.app.util;
+
+import java.util.Locale;
+
+/**
+ * Evaluates {@code Accept-Encoding} headers, including their quality values.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * A coding is acceptable when it is listed, or covered by {@code *}, with a quality above 0.
+     * An explicit entry for the coding takes precedence over {@code *}.
+     *
+     * @param acceptEncoding The header value, may be null.
+     * @param coding         The content coding, e.g. {@code gzip}.
+     * @return true if the client accepts the coding.
+     */
+    public static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double explicit = null;
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (name.equals(coding) || name.equals("x-" + coding)) {
+                explicit = explicit == null ? quality : Math.max(explicit, quality);
+            } else if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double quality = explicit != null ? explicit : wildcard;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * @return The {@code q} parameter of an entry, 1 when missing and 0 when malformed.
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                    && parameter.substring(1).trim().startsWith("=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(parameter.indexOf('=') + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
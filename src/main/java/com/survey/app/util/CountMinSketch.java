@@ -0,0 +1,91 @@
+package com.survey.app.util;
+
+/**
+ * Count-min sketch: approximate counts of strings in {@code depth} rows of {@code width} counters.
+ * An estimate never undercounts and, with probability 1 - e^-depth, overcounts by at most
+ * e / width times the total count. Updates are conservative, raising only the counters that hold
+ * the current minimum, which keeps the overcount well below that bound in practice.
+ * Not thread-safe.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * @param width Counters per row, rounded up to a power of two.
+     * @param depth Number of rows, each with its own hash function.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded < width ? rounded << 1 : rounded;
+        this.depth = depth;
+        this.counters = new long[this.width * depth];
+    }
+
+    /**
+     * @param value The value to count.
+     * @param count How many times it occurred.
+     * @return The estimated count of the value after the update.
+     */
+    public long add(String value, long count) {
+        int[] cells = cells(value);
+        long estimate = min(cells) + count;
+        for (int cell : cells) {
+            if (counters[cell] < estimate) {
+                counters[cell] = estimate;
+            }
+        }
+        total += count;
+        return estimate;
+    }
+
+    /**
+     * @param value The value.
+     * @return The estimated count of the value, never less than its true count.
+     */
+    public long estimate(String value) {
+        return min(cells(value));
+    }
+
+    /**
+     * @return The sum of all counts added.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return The overcount that no estimate exceeds with probability 1 - e^-depth.
+     */
+    public long getErrorBound() {
+        return (long) Math.ceil(Math.E / width * total);
+    }
+
+    /**
+     * Derives one cell per row from a single 64-bit hash with double hashing.
+     */
+    private int[] cells(String value) {
+        long hash = Hashes.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int[] cells = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            cells[row] = row * width + ((h1 + row * h2) & (width - 1));
+        }
+        return cells;
+    }
+
+    private long min(int[] cells) {
+        long min = Long.MAX_VALUE;
+        for (int cell : cells) {
+            min = Math.min(min, counters[cell]);
+        }
+        return min;
+    }
+}
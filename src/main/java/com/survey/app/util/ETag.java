@@ -0,0 +1,65 @@
+package com.survey.app.util;
+
+/**
+ * Builds strong entity tags from a sequence of numbers, typically ids and versions,
+ * and evaluates {@code If-None-Match} headers against them.
+ */
+public final class ETag {
+
+    private long hash = 0x9e3779b97f4a7c15L;
+
+    public ETag add(long value) {
+        hash = Hashes.mix64(hash ^ value) + 0x9e3779b97f4a7c15L;
+        return this;
+    }
+
+    /**
+     * @param value The value to add, null is distinct from every id and version.
+     */
+    public ETag add(Long value) {
+        return add(value != null ? value : -1L);
+    }
+
+    /**
+     * @return The quoted entity tag.
+     */
+    @Override
+    public String toString() {
+        return '"' + Long.toHexString(hash) + '"';
+    }
+
+    /**
+     * Different content codings are different representations, so each needs a strong tag of its own.
+     *
+     * @param eTag   The quoted entity tag of the unencoded representation.
+     * @param coding The content coding, e.g. {@code gzip}.
+     * @return The entity tag of the encoded representation, the given one with a suffix.
+     */
+    public static String encoded(String eTag, String coding) {
+        return eTag.substring(0, eTag.length() - 1) + '-' + coding + '"';
+    }
+
+    /**
+     * Weak comparison, as required for {@code If-None-Match}.
+     *
+     * @param ifNoneMatch The header value, a list of entity tags or {@code *}.
+     * @param eTag        The current entity tag.
+     * @return true if the client already has the current representation.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.survey.app.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hash functions shared by the sketches.
+ */
+public final class Hashes {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashes() {
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, followed by the MurmurHash3 finalizer so every output bit
+     * depends on every input bit.
+     *
+     * @param value The value to hash.
+     * @return The hash.
+     */
+    public static long hash64(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * The MurmurHash3 64-bit finalizer, a bijection that spreads every input bit over the output.
+     *
+     * @param value The value to mix.
+     * @return The mixed value.
+     */
+    public static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.survey.app.util;
+
+import java.util.*;
+
+/**
+ * Streaming top-K: a {@link CountMinSketch} estimates the count of every value and the {@code capacity}
+ * values with the highest estimates are kept in an ordered set, so the most frequent values can be read
+ * without storing every distinct value. Thread-safe.
+ */
+public class HeavyHitters {
+
+    private static final Comparator<Map.Entry<String, Long>> BY_COUNT =
+            Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<String, Long> counts = new HashMap<>();
+    private final TreeSet<Map.Entry<String, Long>> ranking = new TreeSet<>(BY_COUNT);
+
+    /**
+     * @param capacity Number of top values kept.
+     * @param width    Counters per row of the sketch.
+     * @param depth    Rows of the sketch.
+     */
+    public HeavyHitters(int capacity, int width, int depth) {
+        this.sketch = new CountMinSketch(width, depth);
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param value The value to count.
+     * @param count How many times it occurred.
+     */
+    public synchronized void add(String value, long count) {
+        long estimate = sketch.add(value, count);
+        Long current = counts.get(value);
+        if (current != null) {
+            ranking.remove(new AbstractMap.SimpleImmutableEntry<>(value, current));
+        } else if (counts.size() >= capacity) {
+            Map.Entry<String, Long> lowest = ranking.first();
+            if (lowest.getValue() >= estimate) {
+                return;
+            }
+            ranking.pollFirst();
+            counts.remove(lowest.getKey());
+        }
+        counts.put(value, estimate);
+        ranking.add(new AbstractMap.SimpleImmutableEntry<>(value, estimate));
+    }
+
+    /**
+     * @param limit Maximum number of values returned.
+     * @return The most frequent values with their estimated counts, most frequent first.
+     */
+    public synchronized Map<String, Long> top(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, Long>> entries = ranking.descendingIterator();
+        while (entries.hasNext() && top.size() < limit) {
+            Map.Entry<String, Long> entry = entries.next();
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    public synchronized long getTotal() {
+        return sketch.getTotal();
+    }
+
+    public synchronized long getErrorBound() {
+        return sketch.getErrorBound();
+    }
+}
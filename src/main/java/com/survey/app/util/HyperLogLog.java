@@ -0,0 +1,124 @@
+package com.survey.app.util;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct strings added to it, in a fixed
+ * 2^{@value #PRECISION} bytes. Adding the same value again never changes the sketch, and two sketches
+ * can be merged into the sketch of the union of their values.
+ * The relative standard error of the estimate is 1.04 / sqrt(2^{@value #PRECISION}), about 0.8%.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 14;
+
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * @param bytes Registers as returned by {@link #toBytes()}.
+     * @return The sketch holding those registers.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != REGISTERS) {
+            throw new IllegalArgumentException("Expected " + REGISTERS + " registers but got " + bytes.length);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * @return The relative standard error of {@link #estimate()}.
+     */
+    public static double standardError() {
+        return 1.04 / Math.sqrt(REGISTERS);
+    }
+
+    /**
+     * @param value The value to count.
+     * @return true if the sketch changed.
+     */
+    public boolean add(String value) {
+        long hash = Hashes.hash64(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // rank of the first set bit in the remaining 50 bits, the sentinel bit bounds it to 51
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        synchronized (registers) {
+            if (registers[index] < rank) {
+                registers[index] = rank;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Adds all values counted by another sketch to this one.
+     *
+     * @param other The sketch to merge.
+     */
+    public void merge(HyperLogLog other) {
+        byte[] theirs = other.toBytes();
+        synchronized (registers) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] < theirs[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The estimated number of distinct values added.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        synchronized (registers) {
+            for (byte register : registers) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // linear counting is more accurate while many registers are still empty
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * @return A copy of the registers, one byte each.
+     */
+    public byte[] toBytes() {
+        synchronized (registers) {
+            return registers.clone();
+        }
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(toBytes());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof HyperLogLog && Arrays.equals(toBytes(), ((HyperLogLog) o).toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toBytes());
+    }
+}
@@ -0,0 +1,214 @@
+package com.survey.app.util;
+
+import java.util.*;
+
+/**
+ * Inverted index over documents made of a fixed number of text fields, each with its own weight.
+ * Every field is indexed by its lower-cased words, for ranking, and by the trigrams of its whole text,
+ * so any substring of three or more characters is found by intersecting a few posting sets instead of
+ * scanning every document. Not thread-safe.
+ */
+public class InvertedIndex {
+
+    private static final int GRAM = 3;
+
+    private final double[] fieldWeights;
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> words = new HashMap<>();
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+
+    /**
+     * @param fieldWeights The weight of a match in each field, in field order.
+     */
+    public InvertedIndex(double... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Adds a document or replaces its fields.
+     *
+     * @param id     The document id.
+     * @param fields The text of each field, null for an empty field.
+     */
+    public void put(long id, String... fields) {
+        if (fields.length != fieldWeights.length) {
+            throw new IllegalArgumentException("Expected " + fieldWeights.length + " fields but got " + fields.length);
+        }
+        remove(id);
+        String[] normalized = new String[fields.length];
+        for (int field = 0; field < fields.length; field++) {
+            normalized[field] = normalize(fields[field]);
+            for (String word : tokenize(normalized[field])) {
+                words.computeIfAbsent(word, w -> new HashMap<>()).merge(id, 1 << field, (a, b) -> a | b);
+            }
+            for (String gram : grams(normalized[field])) {
+                grams.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        }
+        documents.put(id, normalized);
+    }
+
+    /**
+     * @param id The document id.
+     */
+    public void remove(long id) {
+        String[] normalized = documents.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        for (String text : normalized) {
+            for (String word : tokenize(text)) {
+                Map<Long, Integer> postings = words.get(word);
+                if (postings != null && postings.remove(id) != null && postings.isEmpty()) {
+                    words.remove(word);
+                }
+            }
+            for (String gram : grams(text)) {
+                Set<Long> postings = grams.get(gram);
+                if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public void clear() {
+        documents.clear();
+        words.clear();
+        grams.clear();
+    }
+
+    /**
+     * @param text  The text to find, case-insensitive.
+     * @param field The field to search.
+     * @return The ids of the documents whose field contains the text, in ascending order.
+     */
+    public List<Long> containing(String text, int field) {
+        String needle = normalize(text);
+        List<Long> ids = new ArrayList<>();
+        for (long id : candidates(needle)) {
+            if (documents.get(id)[field].contains(needle)) {
+                ids.add(id);
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Finds the documents containing every word of the query, as a whole word or as part of one.
+     * Whole-word matches score twice as much as partial ones, matches are multiplied by the field weight
+     * and by the inverse document frequency of the query word.
+     *
+     * @param query The words to find, case-insensitive.
+     * @param limit Maximum number of ids returned.
+     * @return The ids of the matching documents, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        Map<Long, Double> scores = null;
+        for (String term : new LinkedHashSet<>(tokenize(normalize(query)))) {
+            Map<Long, Double> termScores = new HashMap<>();
+            Map<Long, Integer> exact = words.getOrDefault(term, Collections.emptyMap());
+            for (long id : scores == null ? candidates(term) : scores.keySet()) {
+                double score = score(id, term, exact.getOrDefault(id, 0));
+                if (score > 0) {
+                    termScores.put(id, score);
+                }
+            }
+            double idf = Math.log(1 + (double) documents.size() / Math.max(1, termScores.size()));
+            if (scores == null) {
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : termScores.entrySet()) {
+                    scores.put(entry.getKey(), entry.getValue() * idf);
+                }
+            } else {
+                Map<Long, Double> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : termScores.entrySet()) {
+                    scores.put(entry.getKey(), previous.get(entry.getKey()) + entry.getValue() * idf);
+                }
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        if (scores == null) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private double score(long id, String term, int exactFields) {
+        String[] fields = documents.get(id);
+        double score = 0;
+        for (int field = 0; field < fields.length; field++) {
+            if ((exactFields & (1 << field)) != 0) {
+                score += 2 * fieldWeights[field];
+            } else if (fields[field].contains(term)) {
+                score += fieldWeights[field];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return The documents that may contain the text: those holding all its trigrams,
+     * or every document when the text is too short to have any.
+     */
+    private Collection<Long> candidates(String text) {
+        if (text.length() < GRAM) {
+            return documents.keySet();
+        }
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : grams(text)) {
+            Set<Long> ids = grams.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(postings.get(i));
+        }
+        return candidates;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
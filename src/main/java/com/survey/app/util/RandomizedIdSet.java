@@ -0,0 +1,81 @@
+package com.survey.app.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Set of ids kept in a dense array, so adding, removing and drawing a uniformly random id all take
+ * constant time. A removed id is replaced by the last one. Not thread-safe.
+ */
+public class RandomizedIdSet {
+
+    private long[] ids = new long[16];
+    private int size;
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    /**
+     * @param id The id to add.
+     * @return false if the id was already present.
+     */
+    public boolean add(long id) {
+        if (positions.containsKey(id)) {
+            return false;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        positions.put(id, size++);
+        return true;
+    }
+
+    /**
+     * @param id The id to remove.
+     * @return false if the id was not present.
+     */
+    public boolean remove(long id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return false;
+        }
+        long last = ids[--size];
+        if (position != size) {
+            ids[position] = last;
+            positions.put(last, position);
+        }
+        return true;
+    }
+
+    /**
+     * @param random The source of randomness.
+     * @return A uniformly drawn id.
+     * @throws IllegalStateException if the set is empty.
+     */
+    public long sample(Random random) {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot sample an empty set");
+        }
+        return ids[random.nextInt(size)];
+    }
+
+    public boolean contains(long id) {
+        return positions.containsKey(id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return A copy of the ids, in no particular order.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+}
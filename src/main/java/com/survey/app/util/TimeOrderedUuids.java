@@ -0,0 +1,72 @@
+package com.survey.app.util;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generator of version 7 UUIDs: 48 bits of Unix milliseconds, a 12-bit counter and 62 random bits.
+ * Ids from one generator are strictly increasing, so new rows are appended at the end of a primary key index
+ * instead of landing at a random page. The timestamp and counter are claimed with a compare-and-set on a single
+ * {@link AtomicLong}, and every thread draws its random bits from its own {@link SecureRandom}, so no lock is taken.
+ */
+public final class TimeOrderedUuids {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+
+    private static final ThreadLocal<Random> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedUuids() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock The current time in Unix milliseconds.
+     */
+    public TimeOrderedUuids(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return A UUID greater than every UUID this generator returned before, by {@link UUID#compareTo} and
+     * by the unsigned order of its bytes.
+     */
+    public UUID next() {
+        long stamp = nextStamp();
+        long mostSignificant = (stamp >>> COUNTER_BITS) << 16 | VERSION_7 | (stamp & COUNTER_MASK);
+        long leastSignificant = RANDOM.get().nextLong() >>> 2 | VARIANT_RFC_4122;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * @param uuid A UUID returned by {@link #next()}.
+     * @return The Unix milliseconds it was generated at.
+     */
+    public static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    /**
+     * Claims the next timestamp and counter. The counter restarts at 0 every millisecond; when it runs out,
+     * or when the clock goes back, the stamp keeps counting from the last one, so the embedded timestamp
+     * may run slightly ahead of the clock instead of repeating.
+     */
+    private long nextStamp() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        while (true) {
+            long previous = last.get();
+            long next = Math.max(now, previous + 1);
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.survey.app.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of Java 21 and later from code compiled for an older Java version.
+ * The methods are looked up once; on an older JVM, or on one where they are a disabled preview,
+ * {@link #isSupported()} is false and creating virtual threads fails.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle IS_VIRTUAL;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final boolean SUPPORTED;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle isVirtual = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        boolean supported = false;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(ofVirtualBuilder, "name", MethodType.methodType(ofVirtualBuilder, String.class, long.class));
+            factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            // a preview feature that is not enabled fails here
+            ofVirtual.invoke();
+            supported = true;
+        } catch (Throwable e) {
+            // older JVM, virtual threads stay unsupported
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        IS_VIRTUAL = isVirtual;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        SUPPORTED = supported;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return Whether this JVM can create virtual threads.
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * @param prefix The thread name prefix, followed by a counter.
+     * @return A factory of virtual threads.
+     * @throws IllegalStateException If this JVM cannot create virtual threads.
+     */
+    public static ThreadFactory factory(String prefix) {
+        if (!SUPPORTED) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later, this is Java " + Runtime.version());
+        }
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), prefix, 0L));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create virtual threads", e);
+        }
+    }
+
+    /**
+     * @param prefix The thread name prefix, followed by a counter.
+     * @return An executor that runs every task on a new virtual thread. Shut it down to wait for its tasks.
+     * @throws IllegalStateException If this JVM cannot create virtual threads.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = factory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create virtual threads", e);
+        }
+    }
+
+    /**
+     * @param thread A thread.
+     * @return Whether it is a virtual thread, always false on a JVM without virtual threads.
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (!SUPPORTED) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+-- Schema of the prod profile. Keep in step with the entities: the profile runs Hibernate with ddl-auto=validate.
+-- H2 indexes foreign key columns by itself, the indexes below serve the repository finders.
+
+create sequence hibernate_sequence start with 1 increment by 1;
+create sequence possible_answer_seq start with 1 increment by 50;
+create sequence question_seq start with 1 increment by 50;
+
+create table SURVEY (
+    id varbinary not null,
+    creatorName varchar(255),
+    open boolean not null,
+    title varchar(255),
+    version bigint not null,
+    primary key (id)
+);
+
+create table question (
+    question_id bigint not null,
+    category varchar(255),
+    customAnswer varchar(255),
+    difficulty varchar(255),
+    question_text varchar(255),
+    required boolean not null,
+    title varchar(255),
+    version bigint not null,
+    done_survey_id varbinary,
+    survey_id varbinary,
+    primary key (question_id)
+);
+
+create table POSSIBLE_ANSWER (
+    id bigint not null,
+    text varchar(255),
+    version bigint not null,
+    primary key (id)
+);
+
+create table questions_possible_answers (
+    possible_answer_id bigint not null,
+    question_id bigint not null,
+    primary key (possible_answer_id, question_id)
+);
+
+create table ANSWER_TEXT (
+    id bigint not null,
+    text varchar(255) not null,
+    primary key (id)
+);
+
+create table SUBMISSION (
+    id varbinary not null,
+    respondentName varchar(255),
+    submittedAt timestamp,
+    version bigint,
+    survey_id varbinary not null,
+    primary key (id)
+);
+
+create table DONE_SURVEY (
+    id varbinary not null,
+    recordedAt timestamp not null,
+    version bigint,
+    answer_text_id bigint,
+    question_id bigint not null,
+    submission_id varbinary not null,
+    primary key (id)
+);
+
+create table RESPONSE_SUMMARY (
+    answer_text_id bigint not null,
+    question_id bigint not null,
+    survey_id varbinary not null,
+    answerCount bigint not null,
+    possible_answer_id bigint,
+    primary key (answer_text_id, question_id, survey_id)
+);
+
+create table RESPONDENT_SKETCH (
+    sketchKey varchar(255) not null,
+    registers blob not null,
+    savedAt timestamp,
+    primary key (sketchKey)
+);
+
+-- SurveyRepository: findFirstByTitleAndCreatorName, findWithQuestionsByCreatorName and the done surveys of a creator
+create index idx_survey_creator_name_title on SURVEY (creatorName, title);
+-- SurveyRepository: findOpenWithQuestions
+create index idx_survey_open on SURVEY (open);
+-- QuestionRepository: findByCategory, QuestionRepo: the question pages ordered by category
+create index idx_question_category_id on question (category, question_id);
+-- QuestionRepository: findByDifficulty
+create index idx_question_difficulty on question (difficulty);
+-- QuestionRepository: findBySurveyOrderById
+create index idx_question_survey_id on question (survey_id, question_id);
+-- AnswerDictionary: one row per answer text, the unique index also serves AnswerTextRepository.findByText
+alter table ANSWER_TEXT add constraint uk_answer_text_text unique (text);
+-- DoneSurveyRepository: the done surveys of a respondent, SubmissionRepository: the respondents since a day
+create index idx_submission_respondent_name on SUBMISSION (respondentName);
+create index idx_submission_submitted_at on SUBMISSION (submittedAt);
+-- DoneSurveyRepository: the done survey pages, newest first
+create index idx_done_survey_recorded_at_id on DONE_SURVEY (recordedAt, id);
+-- ResponseSummaryRepository: findCountsBySurveyId, ordered by question
+create index idx_response_summary_survey on RESPONSE_SUMMARY (survey_id, question_id);
+
+alter table question add constraint fk_question_survey foreign key (survey_id) references SURVEY;
+alter table question add constraint fk_question_done_survey foreign key (done_survey_id) references DONE_SURVEY;
+alter table questions_possible_answers add constraint fk_questions_possible_answers_question foreign key (question_id) references question;
+alter table questions_possible_answers add constraint fk_questions_possible_answers_possible_answer foreign key (possible_answer_id) references POSSIBLE_ANSWER;
+alter table SUBMISSION add constraint fk_submission_survey foreign key (survey_id) references SURVEY;
+alter table DONE_SURVEY add constraint fk_done_survey_submission foreign key (submission_id) references SUBMISSION;
+alter table DONE_SURVEY add constraint fk_done_survey_question foreign key (question_id) references question;
+alter table DONE_SURVEY add constraint fk_done_survey_answer_text foreign key (answer_text_id) references ANSWER_TEXT;
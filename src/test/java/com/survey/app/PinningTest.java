@@ -0,0 +1,79 @@
+package com.survey.app;
+
+import com.survey.app.util.HeavyHitters;
+import com.survey.app.util.HyperLogLog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A virtual thread that blocks while it holds a monitor pins its carrier thread, see the Threads section of the README.
+ * Every class with a {@code synchronized} method or block must be reviewed to only hold the monitor for a short
+ * computation and then be added here; code that may block should use a {@link java.util.concurrent.locks.Lock}.
+ */
+@Tag("util")
+class PinningTest {
+
+    private static final Set<String> REVIEWED = Set.of(
+            HeavyHitters.class.getName(),
+            HyperLogLog.class.getName()
+    );
+
+    @Test
+    void monitorsOnlyInReviewedClasses() throws IOException, URISyntaxException {
+        Path classes = Path.of(SurveyAppApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Set<String> synchronizedClasses = new TreeSet<>();
+        try (Stream<Path> files = Files.walk(classes)) {
+            Iterator<Path> classFiles = files.filter(file -> file.toString().endsWith(".class")).iterator();
+            while (classFiles.hasNext()) {
+                new ClassReader(Files.readAllBytes(classFiles.next())).accept(new MonitorFinder(synchronizedClasses), 0);
+            }
+        }
+
+        assertEquals(REVIEWED, synchronizedClasses, "Failed: synchronized code that is not reviewed for blocking calls");
+    }
+
+    private static final class MonitorFinder extends ClassVisitor {
+
+        private final Set<String> synchronizedClasses;
+        private String topLevelName;
+
+        private MonitorFinder(Set<String> synchronizedClasses) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.synchronizedClasses = synchronizedClasses;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            // a lambda or nested class is reviewed with the class it is written in
+            int nested = name.indexOf('$');
+            topLevelName = (nested < 0 ? name : name.substring(0, nested)).replace('/', '.');
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                synchronizedClasses.add(topLevelName);
+            }
+            return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        synchronizedClasses.add(topLevelName);
+                    }
+                }
+            };
+        }
+    }
+}
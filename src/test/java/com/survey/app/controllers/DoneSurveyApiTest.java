@@ -0,0 +1,333 @@
+package com.survey.app.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.survey.app.dto.AnswerCount;
+import com.survey.app.model.Question;
+import com.survey.app.model.Survey;
+import com.survey.app.repositories.AnswerTextRepository;
+import com.survey.app.repositories.QuestionRepository;
+import com.survey.app.repositories.ResponseSummaryRepository;
+import com.survey.app.repositories.SurveyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The done survey API end to end, on a database of its own: the write paths, the legacy row format on top of
+ * the normalized storage and the views derived from the stored answers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:donesurveyapitest",
+        "survey.reactive.url=r2dbc:h2:mem:///donesurveyapitest",
+        "survey.ingest.async.enabled=true",
+        "spring.jpa.show-sql=false"
+})
+class DoneSurveyApiTest {
+
+    private static final String PATH = "/api/v1/done_survey";
+
+    private static final int WRITERS = 16;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    SurveyRepository surveyRepository;
+
+    @Autowired
+    QuestionRepository questionRepository;
+
+    @Autowired
+    ResponseSummaryRepository responseSummaryRepository;
+
+    @Autowired
+    AnswerTextRepository answerTextRepository;
+
+    String respondent;
+
+    @BeforeEach
+    void logIn() {
+        respondent = logIn("client", "client");
+    }
+
+    @Test
+    @DisplayName("Concurrent submissions of the same new answers are all counted")
+    void concurrentSummaries() throws Exception {
+        List<String> texts = List.of("Often", "Sometimes", "Never");
+        // the texts are known, so the writers only race on the new summary rows of each survey
+        Survey known = survey("Known answers", "jali");
+        post(PATH + "/batch", rows(known, question(known, "How often?"), texts)).expectStatus().isCreated();
+
+        for (int round = 0; round < 3; round++) {
+            Survey survey = survey("Concurrent summaries " + round, "jali");
+            Question question = question(survey, "How often?");
+            List<Integer> statuses = inParallel(() -> post(PATH + "/batch", rows(survey, question, texts))
+                    .returnResult(Void.class).getStatus().value());
+            assertEquals(Collections.nCopies(WRITERS, HttpStatus.CREATED.value()), statuses);
+
+            Map<String, Long> counts = responseSummaryRepository.findCountsBySurveyId(survey.getId()).stream()
+                    .collect(Collectors.toMap(AnswerCount::getAnswerText, AnswerCount::getCount));
+            assertEquals(Map.of("Often", (long) WRITERS, "Sometimes", (long) WRITERS, "Never", (long) WRITERS), counts,
+                    "One summary row per answer, counting every writer");
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent first uses of an answer text share one dictionary entry")
+    void concurrentNewTexts() throws Exception {
+        List<String> texts = List.of("Race1", "Race2", "Race3");
+        Survey survey = survey("Concurrent texts", "jali");
+        Question question = question(survey, "Which race?");
+        List<Integer> statuses = inParallel(() -> post(PATH + "/batch", rows(survey, question, texts))
+                .returnResult(Void.class).getStatus().value());
+        assertEquals(Collections.nCopies(WRITERS, HttpStatus.CREATED.value()), statuses);
+
+        long entries = answerTextRepository.findAll().stream().filter(answer -> texts.contains(answer.getText())).count();
+        assertEquals(texts.size(), entries, "One dictionary entry per text");
+        Map<String, Long> counts = responseSummaryRepository.findCountsBySurveyId(survey.getId()).stream()
+                .collect(Collectors.toMap(AnswerCount::getAnswerText, AnswerCount::getCount));
+        assertEquals(Map.of("Race1", (long) WRITERS, "Race2", (long) WRITERS, "Race3", (long) WRITERS), counts,
+                "The summary of a text is not split over several entries");
+    }
+
+    @Test
+    @DisplayName("Legacy rows naming survey and question by text are stored and read back unchanged")
+    void legacyRoundTrip() {
+        Survey survey = survey("Legacy round trip", "jali");
+        Question colour = question(survey, "Favourite colour?");
+        Question animal = question(survey, "Favourite animal?");
+
+        JsonNode single = post(PATH, legacyRow(survey, "Favourite colour?", "Blue"))
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertLegacyRow(single, survey, colour, "Blue");
+        assertEquals(single, getJson(respondent, PATH + "/" + single.get("id").asText()),
+                "A stored row reads back as it was returned");
+
+        JsonNode batch = post(PATH + "/batch", List.of(legacyRow(survey, "Favourite colour?", "Blue"),
+                legacyRow(survey, "Favourite animal?", "Cat")))
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertLegacyRow(batch.get(0), survey, colour, "Blue");
+        assertLegacyRow(batch.get(1), survey, animal, "Cat");
+        assertEquals(batch.get(0).get("submissionId"), batch.get(1).get("submissionId"),
+                "The rows of a batch make up one submission");
+        assertNotEquals(single.get("submissionId"), batch.get(0).get("submissionId"));
+
+        Set<String> written = Set.of(single.get("id").asText(), batch.get(0).get("id").asText(), batch.get(1).get("id").asText());
+        Map<String, JsonNode> page = new HashMap<>();
+        getJson(respondent, PATH + "/page?size=" + written.size()).get("items")
+                .forEach(row -> page.put(row.get("id").asText(), row));
+        assertEquals(written, page.keySet(), "The newest page holds the rows just written");
+        assertEquals(batch.get(1), page.get(batch.get(1).get("id").asText()));
+
+        post(PATH, legacyRow(survey, "Not a question?", "Blue")).expectStatus().isNotFound();
+
+        String coordinator = logIn("jali", "npfmicrofinancebankplc");
+        assertEquals(Map.of(colour.getId() + "/Blue", 2L, animal.getId() + "/Cat", 1L), summary(coordinator, survey));
+    }
+
+    @Test
+    @DisplayName("Rows submitted asynchronously are written through the same model")
+    void asyncRoundTrip() throws InterruptedException {
+        Survey survey = survey("Async round trip", "jali");
+        Question question = question(survey, "Favourite season?");
+
+        List<String> ids = new ArrayList<>();
+        post(PATH + "/async", List.of(legacyRow(survey, "Favourite season?", "Spring")))
+                .expectStatus().isAccepted()
+                .expectBody(JsonNode.class).returnResult().getResponseBody()
+                .forEach(id -> ids.add(id.asText()));
+        assertEquals(1, ids.size());
+
+        JsonNode row = null;
+        for (int attempt = 0; row == null && attempt < 100; attempt++) {
+            EntityExchangeResult<JsonNode> result = webTestClient.get().uri(PATH + "/" + ids.get(0))
+                    .cookie("JSESSIONID", respondent)
+                    .exchange()
+                    .expectBody(JsonNode.class).returnResult();
+            if (result.getStatus().is2xxSuccessful()) {
+                row = result.getResponseBody();
+            } else {
+                Thread.sleep(100);
+            }
+        }
+        assertNotNull(row, "The queued row is written");
+        assertLegacyRow(row, survey, question, "Spring");
+
+        String coordinator = logIn("jali", "npfmicrofinancebankplc");
+        assertEquals(Map.of(question.getId() + "/Spring", 1L), summary(coordinator, survey));
+    }
+
+    @Test
+    @DisplayName("Top answers are loaded from the summary on first use and kept up to date afterwards")
+    void topAnswers() {
+        Survey survey = survey("Top answers", "jali");
+        Question question = question(survey, "Favourite fruit?");
+        post(PATH + "/batch", rows(survey, question, List.of("Apple"))).expectStatus().isCreated();
+        post(PATH + "/batch", rows(survey, question, List.of("Apple"))).expectStatus().isCreated();
+        post(PATH + "/batch", rows(survey, question, List.of("Pear"))).expectStatus().isCreated();
+
+        String coordinator = logIn("jali", "npfmicrofinancebankplc");
+        JsonNode loaded = getJson(coordinator, PATH + "/top-answers/" + question.getId());
+        assertEquals(3, loaded.get("total").asLong());
+        assertEquals(2, loaded.get("answers").get("Apple").asLong());
+
+        post(PATH + "/batch", rows(survey, question, List.of("Pear"))).expectStatus().isCreated();
+        post(PATH + "/batch", rows(survey, question, List.of("Pear"))).expectStatus().isCreated();
+        JsonNode updated = getJson(coordinator, PATH + "/top-answers/" + question.getId());
+        assertEquals(5, updated.get("total").asLong());
+        assertEquals(3, updated.get("answers").get("Pear").asLong());
+    }
+
+    @Test
+    @DisplayName("A coordinator only gets the reports of the surveys they created")
+    void reportsOfOwnSurveys() {
+        Survey own = survey("Own reports", "jali");
+        Question ownQuestion = question(own, "Mine?");
+        Survey other = survey("Other reports", "someone else");
+        Question otherQuestion = question(other, "Theirs?");
+        post(PATH + "/batch", rows(own, ownQuestion, List.of("Yes"))).expectStatus().isCreated();
+        post(PATH + "/batch", rows(other, otherQuestion, List.of("Yes"))).expectStatus().isCreated();
+
+        String coordinator = logIn("jali", "npfmicrofinancebankplc");
+        reports(own, ownQuestion).forEach(uri -> get(coordinator, uri).expectStatus().isOk());
+        reports(other, otherQuestion).forEach(uri -> get(coordinator, uri).expectStatus().isNotFound());
+        get(coordinator, PATH + "/respondents/creator/jali").expectStatus().isOk();
+        get(coordinator, PATH + "/respondents/creator/someone else").expectStatus().isNotFound();
+        get(coordinator, PATH + "/respondents/day?from=" + LocalDate.now(ZoneOffset.UTC)).expectStatus().isOk()
+                .expectBody().jsonPath("$.scope").isEqualTo("day:" + LocalDate.now(ZoneOffset.UTC) + ":jali");
+    }
+
+    private Map<String, Long> summary(String coordinator, Survey survey) {
+        Map<String, Long> counts = new HashMap<>();
+        getJson(coordinator, PATH + "/summary/" + survey.getId())
+                .forEach(count -> counts.put(count.get("questionId").asLong() + "/" + count.get("answerText").asText(),
+                        count.get("count").asLong()));
+        return counts;
+    }
+
+    private static Map<String, Object> legacyRow(Survey survey, String questionText, String givenAnswer) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("title", survey.getTitle());
+        row.put("creatorName", survey.getCreatorName());
+        row.put("questionText", questionText);
+        row.put("givenAnswer", givenAnswer);
+        return row;
+    }
+
+    private static void assertLegacyRow(JsonNode row, Survey survey, Question question, String givenAnswer) {
+        assertNotNull(row.get("id").asText(null));
+        assertNotNull(row.get("submissionId").asText(null));
+        assertEquals(survey.getId().toString(), row.get("surveyId").asText());
+        assertEquals(survey.getTitle(), row.get("title").asText());
+        assertEquals(survey.getCreatorName(), row.get("creatorName").asText());
+        assertEquals("client", row.get("respondentName").asText());
+        assertEquals(question.getId(), row.get("questionId").asLong());
+        assertEquals(question.getQuestionText(), row.get("questionText").asText());
+        assertEquals(givenAnswer, row.get("givenAnswer").asText());
+    }
+
+    private static List<String> reports(Survey survey, Question question) {
+        return List.of(PATH + "/results/" + survey.getId(),
+                PATH + "/summary/" + survey.getId(),
+                PATH + "/respondents/survey/" + survey.getId(),
+                PATH + "/top-answers/" + question.getId(),
+                "/api/v1/analytics/" + survey.getId() + "/distribution/" + question.getId());
+    }
+
+    private String logIn(String username, String password) {
+        ResponseCookie cookie = webTestClient.post().uri("/login")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("username", username).with("password", password))
+                .exchange()
+                .expectStatus().isFound()
+                .returnResult(Void.class)
+                .getResponseCookies().getFirst("JSESSIONID");
+        assertNotNull(cookie, "The login starts a session");
+        return cookie.getValue();
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, Object body) {
+        return webTestClient.post().uri(uri)
+                .cookie("JSESSIONID", respondent)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    private JsonNode getJson(String session, String uri) {
+        return get(session, uri).expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec get(String session, String uri) {
+        return webTestClient.get().uri(uri)
+                .cookie("JSESSIONID", session)
+                .exchange();
+    }
+
+    private <T> List<T> inParallel(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Survey survey(String title, String creatorName) {
+        Survey survey = new Survey();
+        survey.setTitle(title);
+        survey.setCreatorName(creatorName);
+        survey.setOpen(true);
+        return surveyRepository.save(survey);
+    }
+
+    private Question question(Survey survey, String questionText) {
+        Question question = new Question(0, "Habits", questionText, false, "easy", "", "");
+        question.setSurvey(survey);
+        return questionRepository.save(question);
+    }
+
+    private static List<Map<String, Object>> rows(Survey survey, Question question, List<String> answers) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String answer : answers) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("surveyId", survey.getId());
+            row.put("questionId", question.getId());
+            row.put("givenAnswer", answer);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
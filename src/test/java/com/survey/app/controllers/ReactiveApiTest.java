@@ -0,0 +1,158 @@
+package com.survey.app.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.survey.app.ReactiveConfiguration;
+import com.survey.app.model.Question;
+import com.survey.app.model.Survey;
+import com.survey.app.repositories.QuestionRepository;
+import com.survey.app.repositories.SurveyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive API end to end: its servlet behind the security filters, the R2DBC reads and the JPA writes.
+ * It runs on a database of its own, since it adds surveys to the seeded one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "survey.reactive.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:reactiveapitest",
+        "survey.reactive.url=r2dbc:h2:mem:///reactiveapitest",
+        "spring.jpa.show-sql=false"
+})
+class ReactiveApiTest {
+
+    private static final String SEEDED_TITLE = "Cel mai tare chestionar";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    SurveyRepository surveyRepository;
+
+    @Autowired
+    QuestionRepository questionRepository;
+
+    String session;
+
+    @BeforeEach
+    void logIn() {
+        ResponseCookie cookie = webTestClient.post().uri("/login")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("username", "client").with("password", "client"))
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().value(HttpHeaders.LOCATION, location -> assertFalse(location.contains("error")))
+                .returnResult(Void.class)
+                .getResponseCookies().getFirst("JSESSIONID");
+        assertNotNull(cookie, "The login starts a session");
+        session = cookie.getValue();
+    }
+
+    @Test
+    @DisplayName("Open surveys are streamed as NDJSON, with and without questions and answers")
+    void openSurveys() {
+        Survey withoutQuestions = openSurvey("Without questions");
+        Survey withoutAnswers = openSurvey("Without answers");
+        Question question = new Question(0, "Unanswered", "Anything to add?", false, "easy", "", "");
+        question.setSurvey(withoutAnswers);
+        questionRepository.save(question);
+
+        Map<String, JsonNode> surveys = new HashMap<>();
+        webTestClient.get().uri(ReactiveConfiguration.PATH + "/survey/open")
+                .cookie("JSESSIONID", session)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JsonNode.class)
+                .getResponseBody()
+                .toIterable()
+                .forEach(survey -> surveys.put(survey.get("title").asText(), survey));
+
+        JsonNode seeded = surveys.get(SEEDED_TITLE);
+        assertNotNull(seeded, "The seeded survey is open");
+        assertEquals(1, seeded.get("questionList").size());
+        JsonNode seededQuestion = seeded.get("questionList").get(0);
+        assertEquals("What is your name", seededQuestion.get("questionText").asText());
+        assertEquals("Answer1", seededQuestion.get("possibleAnswerSet").get(0).get("text").asText());
+
+        assertEquals(withoutQuestions.getId().toString(), surveys.get("Without questions").get("id").asText());
+        assertEquals(0, surveys.get("Without questions").get("questionList").size(),
+                "A survey without questions has an empty question list");
+
+        JsonNode unanswered = surveys.get("Without answers").get("questionList");
+        assertEquals(1, unanswered.size());
+        assertEquals("Anything to add?", unanswered.get(0).get("questionText").asText());
+        assertEquals(0, unanswered.get(0).get("possibleAnswerSet").size(),
+                "A question without possible answers has an empty answer set");
+    }
+
+    @Test
+    @DisplayName("A valid done survey row is accepted")
+    void submitDoneSurvey() {
+        Survey seeded = surveyRepository.findAll().stream()
+                .filter(survey -> SEEDED_TITLE.equals(survey.getTitle()))
+                .findFirst()
+                .orElseThrow();
+        Question question = questionRepository.findAll().stream()
+                .filter(candidate -> "What is your name".equals(candidate.getQuestionText()))
+                .findFirst()
+                .orElseThrow();
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("surveyId", seeded.getId());
+        row.put("questionId", question.getId());
+        row.put("respondentName", "Ana");
+        row.put("givenAnswer", "Answer1");
+
+        webTestClient.post().uri(ReactiveConfiguration.PATH + "/done_survey")
+                .cookie("JSESSIONID", session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(row))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.ACCEPTED)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An empty submission is rejected")
+    void submitNoDoneSurveys() {
+        webTestClient.post().uri(ReactiveConfiguration.PATH + "/done_survey")
+                .cookie("JSESSIONID", session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("An anonymous client is sent to the login page")
+    void anonymous() {
+        webTestClient.get().uri(ReactiveConfiguration.PATH + "/survey/open")
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().value(HttpHeaders.LOCATION, location -> assertTrue(location.endsWith("/login")));
+    }
+
+    private Survey openSurvey(String title) {
+        Survey survey = new Survey();
+        survey.setTitle(title);
+        survey.setOpen(true);
+        return surveyRepository.save(survey);
+    }
+}
@@ -0,0 +1,89 @@
+package com.survey.app.service;
+
+import com.survey.app.dto.AnswerDistribution;
+import com.survey.app.dto.CrossTab;
+import com.survey.app.dto.ResponseCell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("service")
+class ResponseMatrixTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant DAY_TWO = Instant.parse("2024-01-02T00:00:00Z");
+
+    ResponseMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        ResponseMatrix.Builder builder = new ResponseMatrix.Builder();
+        // enough submissions for the count to be split across fork/join tasks
+        for (int i = 0; i < 10_000; i++) {
+            UUID submission = UUID.randomUUID();
+            String respondent = i % 2 == 0 ? "even" : "odd";
+            Instant submittedAt = i < 5_000 ? DAY_ONE : DAY_TWO;
+            builder.add(new ResponseCell(submission, respondent, submittedAt, 1, i % 4 == 0 ? "Yes" : "No"));
+            if (i % 10 != 0) {
+                builder.add(new ResponseCell(submission, respondent, submittedAt, 2, i % 3 == 0 ? "Red" : "Blue"));
+            }
+        }
+        matrix = builder.build();
+    }
+
+    @Test
+    void crossTab() {
+        CrossTab crossTab = matrix.crossTab(1, 2, ResponseFilter.NONE);
+
+        assertAll("Cross-tabulation of both questions",
+                () -> assertEquals(10_000, crossTab.getRespondents(), "Failed respondents"),
+                () -> assertEquals(9_000, crossTab.getTotal(), "Failed total"),
+                () -> assertEquals(Arrays.asList("Yes", "No"), crossTab.getRowAnswers(), "Failed row answers"),
+                () -> assertEquals(Arrays.asList("Blue", "Red"), crossTab.getColumnAnswers(), "Failed column answers"),
+                () -> assertArrayEquals(new long[]{1_333, 667}, crossTab.getCounts()[0], "Failed Yes row"),
+                () -> assertArrayEquals(new long[]{4_667, 2_333}, crossTab.getCounts()[1], "Failed No row"),
+                () -> assertEquals(4_667 * 100.0 / 9_000, crossTab.getPercentages()[1][0], 1e-9, "Failed percentage")
+        );
+    }
+
+    @Test
+    void crossTabWithUnknownColumn() {
+        CrossTab crossTab = matrix.crossTab(1, 99, ResponseFilter.NONE);
+
+        assertAll("Cross-tabulation against a question nobody answered",
+                () -> assertEquals(10_000, crossTab.getRespondents(), "Failed respondents"),
+                () -> assertEquals(0, crossTab.getTotal(), "Failed total"),
+                () -> assertEquals(Arrays.asList("Yes", "No"), crossTab.getRowAnswers(), "Failed row answers"),
+                () -> assertEquals(0, crossTab.getColumnAnswers().size(), "Failed column answers"),
+                () -> assertArrayEquals(new long[0], crossTab.getCounts()[0], "Failed Yes row")
+        );
+    }
+
+    @Test
+    void filteredDistribution() {
+        ResponseFilter filter = new ResponseFilter("even", DAY_TWO, null, 2L, "Red");
+        AnswerDistribution distribution = matrix.distribution(1, filter);
+
+        assertAll("Distribution of even respondents on day two who answered Red",
+                () -> assertEquals(666, distribution.getRespondents(), "Failed respondents"),
+                () -> assertEquals(666, distribution.getAnswered(), "Failed answered"),
+                () -> assertEquals(334L, (long) distribution.getCounts().get("Yes"), "Failed Yes"),
+                () -> assertEquals(332 * 100.0 / 666, distribution.getPercentages().get("No"), 1e-9, "Failed percentage")
+        );
+    }
+
+    @Test
+    void unknownFilterMatchesNothing() {
+        AnswerDistribution distribution = matrix.distribution(1, new ResponseFilter("nobody", null, null, null, null));
+
+        assertEquals(0, distribution.getRespondents(), "Failed respondents");
+    }
+}
@@ -0,0 +1,26 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class AcceptEncodingTest {
+
+    @Test
+    void qualityValues() {
+        assertAll("Accept-Encoding",
+                () -> assertTrue(AcceptEncoding.accepts("gzip, deflate, br", "gzip"), "Failed plain list"),
+                () -> assertTrue(AcceptEncoding.accepts("deflate;q=1.0, GZIP;q=0.5", "gzip"), "Failed quality"),
+                () -> assertFalse(AcceptEncoding.accepts("gzip;q=0", "gzip"), "Failed q=0"),
+                () -> assertFalse(AcceptEncoding.accepts("gzip ; q=0.000, deflate", "gzip"), "Failed spaced q=0"),
+                () -> assertTrue(AcceptEncoding.accepts("*", "gzip"), "Failed wildcard"),
+                () -> assertFalse(AcceptEncoding.accepts("*, gzip;q=0", "gzip"), "Failed explicit over wildcard"),
+                () -> assertFalse(AcceptEncoding.accepts("*;q=0, identity", "gzip"), "Failed refused wildcard"),
+                () -> assertFalse(AcceptEncoding.accepts("deflate", "gzip"), "Failed missing coding"),
+                () -> assertFalse(AcceptEncoding.accepts("gzip;q=abc", "gzip"), "Failed malformed quality"),
+                () -> assertFalse(AcceptEncoding.accepts(null, "gzip"), "Failed missing header")
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class ETagTest {
+
+    @Test
+    void sameSequenceSameTag() {
+        String tag = new ETag().add(1L).add(7L).add((Long) null).toString();
+
+        assertAll("Tags",
+                () -> assertEquals(tag, new ETag().add(1L).add(7L).add((Long) null).toString(), "Failed stable tag"),
+                () -> assertNotEquals(tag, new ETag().add(7L).add(1L).add((Long) null).toString(), "Failed order"),
+                () -> assertNotEquals(tag, new ETag().add(1L).add(7L).add(0L).toString(), "Failed null"),
+                () -> assertTrue(tag.startsWith("\"") && tag.endsWith("\""), "Failed quotes")
+        );
+    }
+
+    @Test
+    void ifNoneMatch() {
+        String tag = new ETag().add(3L).toString();
+
+        assertAll("If-None-Match",
+                () -> assertTrue(ETag.matches(tag, tag), "Failed exact"),
+                () -> assertTrue(ETag.matches("\"other\", W/" + tag, tag), "Failed weak list"),
+                () -> assertTrue(ETag.matches("*", tag), "Failed wildcard"),
+                () -> assertFalse(ETag.matches("\"other\"", tag), "Failed mismatch"),
+                () -> assertFalse(ETag.matches(null, tag), "Failed missing header")
+        );
+    }
+
+    @Test
+    void encoded() {
+        String tag = new ETag().add(3L).toString();
+        String gzip = ETag.encoded(tag, "gzip");
+
+        assertAll("Encoded",
+                () -> assertEquals(tag.substring(0, tag.length() - 1) + "-gzip\"", gzip, "Failed suffix"),
+                () -> assertFalse(ETag.matches(tag, gzip), "Failed distinct from the unencoded tag"),
+                () -> assertTrue(ETag.matches("W/" + gzip, gzip), "Failed weak match")
+        );
+    }
+}
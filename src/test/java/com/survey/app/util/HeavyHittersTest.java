@@ -0,0 +1,51 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class HeavyHittersTest {
+
+    @Test
+    void countMinNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("answer-" + (i % 1_000), 1);
+        }
+
+        assertAll("Estimates of values added 5 times each",
+                () -> assertEquals(5_000, sketch.getTotal(), "Failed total"),
+                () -> assertTrue(sketch.estimate("answer-7") >= 5, "Failed lower bound"),
+                () -> assertTrue(sketch.estimate("answer-7") <= 5 + sketch.getErrorBound(), "Failed upper bound")
+        );
+    }
+
+    @Test
+    void keepsMostFrequentValues() {
+        HeavyHitters heavyHitters = new HeavyHitters(10, 1024, 4);
+        for (int i = 0; i < 20_000; i++) {
+            heavyHitters.add("rare-" + i, 1);
+            if (i % 10 == 0) {
+                heavyHitters.add("Blue", 1);
+            }
+            if (i % 20 == 0) {
+                heavyHitters.add("Red", 1);
+            }
+        }
+        heavyHitters.add("Green", 500);
+
+        Map<String, Long> top = heavyHitters.top(3);
+
+        assertAll("Top answers",
+                () -> assertEquals(Arrays.asList("Blue", "Red", "Green"), new ArrayList<>(top.keySet()), "Failed order"),
+                () -> assertTrue(top.get("Blue") >= 2_000, "Failed count"),
+                () -> assertTrue(top.get("Blue") <= 2_000 + heavyHitters.getErrorBound(), "Failed error bound")
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class HyperLogLogTest {
+
+    @Test
+    void estimatesWithinErrorBound() {
+        for (int distinct : new int[]{10, 1_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < distinct; i++) {
+                sketch.add("respondent-" + i);
+                sketch.add("respondent-" + i);
+            }
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error < 3 * HyperLogLog.standardError(), "Estimate off by " + error + " for " + distinct);
+        }
+    }
+
+    @Test
+    void mergeEqualsUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            (i % 2 == 0 ? left : right).add("respondent-" + i);
+            union.add("respondent-" + i);
+        }
+        left.merge(right);
+
+        assertEquals(union, left, "Failed merge");
+    }
+
+    @Test
+    void serializationRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.add("client");
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertAll("Restored sketch",
+                () -> assertEquals(sketch, restored, "Failed registers"),
+                () -> assertEquals(1, restored.estimate(), "Failed estimate"),
+                () -> assertFalse(restored.add("client"), "Failed idempotent add")
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class InvertedIndexTest {
+
+    InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex(2, 1);
+        index.put(1, "Personal Profile", "What is your name");
+        index.put(2, "Work", "What is your profession");
+        index.put(3, "Name history", "Where does your family come from");
+    }
+
+    @Test
+    void ranksTitleAndWholeWordMatchesFirst() {
+        assertAll("Search",
+                () -> assertEquals(Arrays.asList(3L, 1L), index.search("name", 10), "Failed ranking"),
+                () -> assertEquals(Arrays.asList(1L, 2L), index.search("prof", 10), "Failed partial words"),
+                () -> assertEquals(Collections.singletonList(1L), index.search("YOUR prof name", 10), "Failed all terms"),
+                () -> assertEquals(Collections.emptyList(), index.search("salary", 10), "Failed no match")
+        );
+    }
+
+    @Test
+    void findsSubstringsOfOneField() {
+        assertAll("Containing",
+                () -> assertEquals(Arrays.asList(1L, 2L), index.containing("is your", 1), "Failed text"),
+                () -> assertEquals(Collections.singletonList(1L), index.containing("al pro", 0), "Failed title"),
+                () -> assertEquals(Arrays.asList(1L, 2L, 3L), index.containing("o", 0), "Failed short text")
+        );
+    }
+
+    @Test
+    void keepsPostingsInStepWithChanges() {
+        index.put(1, "Personal Profile", "What is your age");
+        index.remove(3);
+
+        assertAll("Changes",
+                () -> assertEquals(Collections.emptyList(), index.search("name", 10), "Failed update"),
+                () -> assertEquals(Collections.singletonList(1L), index.search("age", 10), "Failed new text"),
+                () -> assertEquals(2, index.size(), "Failed remove")
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class RandomizedIdSetTest {
+
+    @Test
+    void removeKeepsArrayDense() {
+        RandomizedIdSet set = new RandomizedIdSet();
+        for (long id = 1; id <= 100; id++) {
+            set.add(id);
+        }
+        for (long id = 1; id <= 100; id += 2) {
+            set.remove(id);
+        }
+
+        assertAll("Remaining ids",
+                () -> assertEquals(50, set.size(), "Failed size"),
+                () -> assertFalse(set.contains(1), "Failed remove"),
+                () -> assertTrue(set.contains(100), "Failed moved id"),
+                () -> assertFalse(set.add(100), "Failed duplicate")
+        );
+    }
+
+    @Test
+    void samplesUniformly() {
+        RandomizedIdSet set = new RandomizedIdSet();
+        for (long id = 0; id < 4; id++) {
+            set.add(id);
+        }
+        Random random = new Random(42);
+        int[] draws = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            draws[(int) set.sample(random)]++;
+        }
+
+        for (int count : draws) {
+            assertEquals(10_000, count, 500, "Failed uniformity");
+        }
+    }
+
+    @Test
+    void emptySetCannotBeSampled() {
+        assertThrows(IllegalStateException.class, () -> new RandomizedIdSet().sample(new Random()));
+    }
+}
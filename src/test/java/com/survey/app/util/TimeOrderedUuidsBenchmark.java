@@ -0,0 +1,103 @@
+package com.survey.app.util;
+
+import com.survey.app.model.id.UuidStrategy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Inserts done survey shaped rows into a file-based H2 database with random and with time-ordered
+ * primary keys, and prints the insert throughput and the disk space of the table and its indexes.
+ * Not part of the regular build, since surefire only picks up {@code *Test} classes; run it with
+ * {@code mvn test -Dtest=TimeOrderedUuidsBenchmark}, optionally with {@code -Dbenchmark.rows=1000000}.
+ */
+@Tag("benchmark")
+class TimeOrderedUuidsBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Test
+    void insertThroughputAndIndexSize() throws SQLException, IOException {
+        Path directory = Files.createTempDirectory("uuid-benchmark");
+        int rows = Integer.getInteger("benchmark.rows", 300_000);
+        // warm up the JIT and H2 before measuring
+        run(directory, UuidStrategy.RANDOM, rows / 10, "warmup-random");
+        run(directory, UuidStrategy.TIME_ORDERED, rows / 10, "warmup-time-ordered");
+
+        System.out.println(String.format(Locale.ROOT, "%-13s %10s %12s %14s %10s",
+                "strategy", "rows", "rows/s", "table+index KB", "file KB"));
+        try {
+            for (UuidStrategy strategy : UuidStrategy.values()) {
+                System.out.println(run(directory, strategy, rows, strategy.name().toLowerCase(Locale.ROOT).replace('_', '-')));
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private String run(Path directory, UuidStrategy strategy, int rows, String name) throws SQLException {
+        Path file = directory.resolve(name);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + file, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                // the column type Hibernate maps java.util.UUID to on H2
+                statement.execute("create table DONE_SURVEY (id binary(255) not null primary key, " +
+                        "recordedAt timestamp not null, givenAnswer varchar(255))");
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into DONE_SURVEY (id, recordedAt, givenAnswer) values (?, ?, ?)")) {
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                for (int i = 1; i <= rows; i++) {
+                    insert.setBytes(1, toBytes(strategy.next()));
+                    insert.setTimestamp(2, now);
+                    insert.setString(3, "Answer" + (i % 10));
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0 || i == rows) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long diskSpace;
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("call disk_space_used('DONE_SURVEY')")) {
+                result.next();
+                diskSpace = result.getLong(1);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("shutdown compact");
+            }
+            long fileSize = sizeOf(file);
+            return String.format(Locale.ROOT, "%-13s %10d %12.0f %14d %10d",
+                    name, rows, rows / seconds, diskSpace / 1024, fileSize / 1024);
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(Path.of(file + ".mv.db"));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
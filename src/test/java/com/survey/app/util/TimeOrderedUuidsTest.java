@@ -0,0 +1,97 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("util")
+class TimeOrderedUuidsTest {
+
+    @Test
+    void versionVariantAndTimestamp() {
+        UUID uuid = new TimeOrderedUuids(() -> 1_700_000_000_123L).next();
+
+        assertAll("UUID",
+                () -> assertEquals(7, uuid.version(), "Failed version"),
+                () -> assertEquals(2, uuid.variant(), "Failed variant"),
+                () -> assertEquals(1_700_000_000_123L, TimeOrderedUuids.timestampOf(uuid), "Failed timestamp")
+        );
+    }
+
+    @Test
+    void increasingWithinAndAcrossMilliseconds() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimeOrderedUuids uuids = new TimeOrderedUuids(clock::get);
+        List<UUID> generated = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(uuids.next());
+            if (i % 1000 == 999) {
+                clock.incrementAndGet();
+            }
+        }
+        clock.addAndGet(-5);
+        generated.add(uuids.next());
+
+        for (int i = 1; i < generated.size(); i++) {
+            assertTrue(generated.get(i - 1).compareTo(generated.get(i)) < 0, "Failed order at " + i);
+            assertTrue(compareUnsigned(generated.get(i - 1), generated.get(i)) < 0, "Failed byte order at " + i);
+        }
+        assertEquals(1_700_000_000_009L, TimeOrderedUuids.timestampOf(generated.get(generated.size() - 1)), "Failed clock going back");
+    }
+
+    @Test
+    void counterOverflowSpillsIntoTheNextMillisecond() {
+        TimeOrderedUuids uuids = new TimeOrderedUuids(() -> 1_700_000_000_000L);
+        UUID last = null;
+        for (int i = 0; i < 5000; i++) {
+            UUID next = uuids.next();
+            if (last != null) {
+                assertTrue(last.compareTo(next) < 0, "Failed order at " + i);
+            }
+            last = next;
+        }
+
+        assertEquals(1_700_000_000_001L, TimeOrderedUuids.timestampOf(last), "Failed overflow");
+    }
+
+    @Test
+    void uniqueAndIncreasingPerThread() throws Exception {
+        TimeOrderedUuids uuids = new TimeOrderedUuids();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    List<UUID> generated = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        generated.add(uuids.next());
+                    }
+                    return generated;
+                }));
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> result : results) {
+                List<UUID> generated = result.get(30, TimeUnit.SECONDS);
+                for (int i = 1; i < generated.size(); i++) {
+                    assertTrue(generated.get(i - 1).compareTo(generated.get(i)) < 0, "Failed order per thread");
+                }
+                all.addAll(generated);
+            }
+            assertEquals(threads * perThread, all.size(), "Failed uniqueness");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,72 @@
+package com.survey.app.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("util")
+class VirtualThreadsTest {
+
+    @Test
+    void tasksRunOnNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Needs Java 21 or later");
+
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+
+            assertAll("Virtual threads",
+                    () -> assertTrue(VirtualThreads.isVirtual(thread), "Failed virtual"),
+                    () -> assertTrue(thread.getName().startsWith("test-"), "Failed name"),
+                    () -> assertFalse(VirtualThreads.isVirtual(Thread.currentThread()), "Failed platform thread")
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void blockedTasksDoNotHoldThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Needs Java 21 or later");
+
+        // far more sleeping tasks than carrier threads; they only finish in time if sleeping unmounts them
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        List<Future<?>> tasks = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                tasks.add(executor.submit(() -> {
+                    Thread.sleep(200);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Failed concurrent sleeps");
+    }
+
+    @Test
+    void unsupportedBeforeJava21() {
+        assumeFalse(VirtualThreads.isSupported(), "Runs on Java 21 or later");
+
+        assertAll("Unsupported",
+                () -> assertThrows(IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-"), "Failed executor"),
+                () -> assertThrows(IllegalStateException.class, () -> VirtualThreads.factory("test-"), "Failed factory"),
+                () -> assertFalse(VirtualThreads.isVirtual(Thread.currentThread()), "Failed isVirtual")
+        );
+    }
+}